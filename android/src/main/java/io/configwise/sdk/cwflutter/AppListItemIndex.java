@@ -0,0 +1,392 @@
+package io.configwise.sdk.cwflutter;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.parse.boltsinternal.Task;
+import io.configwise.sdk.domain.AppListItemEntity;
+import io.configwise.sdk.services.AppListItemService;
+
+/**
+ * Persistent (SQLite) index of the app-list tree, keyed by parent_id.
+ *
+ * Every level of the tree is stored as already filtered and serialized rows
+ * (see {@link Utils#serializeAppListItemEntity(AppListItemEntity)}), so navigation through
+ * the tree is a local lookup (which works offline too). Levels older than refresh period
+ * (dbAccessPeriod) are returned immediately and re-synced from {@link AppListItemService}
+ * in background.
+ */
+class AppListItemIndex extends SQLiteOpenHelper {
+
+    private static final String TAG = AppListItemIndex.class.getSimpleName();
+
+    private static final String DATABASE_NAME = "cwflutter_app_list_items.db";
+
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String TABLE_LEVELS = "levels";
+
+    private static final String TABLE_ITEMS = "items";
+
+    // Key of the root level (items without parent).
+    private static final String ROOT_KEY = "";
+
+    // Used until dbAccessPeriod is configured (and if it isn't positive).
+    static final long DEFAULT_REFRESH_PERIOD_MILLIS = 60 * 60 * 1000;
+
+    interface VisibilityFilter {
+        boolean isVisible(@NonNull AppListItemEntity entity);
+    }
+
+    private static final ChangeFeed<AppListItemEntity> CHANGE_FEED = new ChangeFeed<>(new ChangeFeed.Adapter<AppListItemEntity>() {
+        @NonNull
+        @Override
+        public String getId(@NonNull AppListItemEntity entity) {
+            return entity.getObjectId();
+        }
+
+        @Nullable
+        @Override
+        public Date getCreatedAt(@NonNull AppListItemEntity entity) {
+            return entity.getCreatedAt();
+        }
+
+        @Nullable
+        @Override
+        public Date getUpdatedAt(@NonNull AppListItemEntity entity) {
+            return entity.getUpdatedAt();
+        }
+
+        @NonNull
+        @Override
+        public Map<String, ?> serialize(@NonNull AppListItemEntity entity) {
+            return Utils.serializeAppListItemEntity(entity);
+        }
+    });
+
+    @NonNull
+    private final VisibilityFilter visibilityFilter;
+
+    // Concurrent syncs of the same level share one AppListItemService request.
+    private final SingleFlight<String, List<Map<String, ?>>> inFlightSyncs = new SingleFlight<>();
+
+    private volatile long refreshPeriodMillis = DEFAULT_REFRESH_PERIOD_MILLIS;
+
+    // Incremented by clear(), so syncs started before it don't write rows of the previous account back.
+    private final AtomicInteger generation = new AtomicInteger();
+
+    AppListItemIndex(@NonNull Context context, @NonNull VisibilityFilter visibilityFilter) {
+        super(context.getApplicationContext(), DATABASE_NAME, null, DATABASE_VERSION);
+        this.visibilityFilter = visibilityFilter;
+    }
+
+    // MARK: - SQLiteOpenHelper
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_LEVELS + " ("
+                + "parent_id TEXT PRIMARY KEY NOT NULL, "
+                + "synced_at INTEGER NOT NULL)"
+        );
+        db.execSQL("CREATE TABLE " + TABLE_ITEMS + " ("
+                + "parent_id TEXT NOT NULL, "
+                + "position INTEGER NOT NULL, "
+                + "id TEXT, "
+                + "component_id TEXT, "
+                + "type TEXT, "
+                + "label TEXT, "
+                + "description TEXT, "
+                + "image_file_key TEXT, "
+                + "item_index INTEGER, "
+                + "text_color TEXT, "
+                + "PRIMARY KEY (parent_id, position))"
+        );
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // It's a cache only - just rebuild it.
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_LEVELS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_ITEMS);
+        onCreate(db);
+    }
+
+    // MARK: - Index
+
+    /**
+     * Non-positive period means the default one (otherwise every lookup would trigger a sync).
+     */
+    void setRefreshPeriod(long refreshPeriodMillis) {
+        this.refreshPeriodMillis = refreshPeriodMillis > 0 ? refreshPeriodMillis : DEFAULT_REFRESH_PERIOD_MILLIS;
+    }
+
+    /**
+     * Obtains visible (serialized) items of the level. Local rows are returned if the level
+     * has been synced already, otherwise the level is synced from ConfigWise SDK first.
+     */
+    @NonNull
+    Task<List<Map<String, ?>>> obtainAllAppListItems(@Nullable String parentId) {
+        return obtainAllAppListItems(parentId, null);
+    }
+
+    /**
+     * The same as {@link #obtainAllAppListItems(String)}, the AppListItemService request the result waits for
+     * (if any) is measured by the trace. Background refresh of a stale level isn't measured.
+     */
+    @NonNull
+    Task<List<Map<String, ?>>> obtainAllAppListItems(@Nullable String parentId, @Nullable PerformanceMonitor.Trace trace) {
+        final String key = parentId != null ? parentId : ROOT_KEY;
+
+        return Task.call(() -> queryLevel(key), Utils.IO_EXECUTOR)
+                .continueWithTask(task -> {
+                    if (task.isFaulted()) {
+                        Log.e(TAG, "Unable to read app-list level '" + key + "' from local index", task.getError());
+                    }
+
+                    final Level level = task.isFaulted() ? null : task.getResult();
+                    if (level == null) {
+                        return sync(key, trace);
+                    }
+
+                    if (System.currentTimeMillis() - level.syncedAt >= refreshPeriodMillis) {
+                        sync(key, null).continueWith(syncTask -> {
+                            if (syncTask.isFaulted()) {
+                                Log.w(TAG, "Unable to refresh app-list level '" + key + "' due error", syncTask.getError());
+                            }
+                            return null;
+                        });
+                    }
+
+                    return Task.forResult(level.rows);
+                });
+    }
+
+    /**
+     * Removes all levels (eg: on sign out).
+     */
+    @NonNull
+    Task<Void> clear() {
+        generation.incrementAndGet();
+
+        return Task.call(() -> {
+            final SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                db.delete(TABLE_LEVELS, null, null);
+                db.delete(TABLE_ITEMS, null, null);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            return null;
+        }, Utils.IO_EXECUTOR);
+    }
+
+    /**
+     * Obtains changes of visible items of the level since the watermark (see {@link ChangeFeed}).
+     * The level is re-synced in the local index if anything is changed. The AppListItemService request
+     * is measured by the trace (if any).
+     */
+    @NonNull
+    Task<Map<String, Object>> obtainChanges(
+            @Nullable String parentId,
+            long since,
+            @Nullable Set<String> knownIds,
+            @Nullable PerformanceMonitor.Trace trace
+    ) {
+        final String key = parentId != null ? parentId : ROOT_KEY;
+        final int syncGeneration = generation.get();
+
+        return obtainVisibleEntities(key, trace)
+                .onSuccessTask(task -> {
+                    final List<AppListItemEntity> entities = task.getResult();
+                    final Map<String, Object> changes = CHANGE_FEED.diff(entities, since, knownIds);
+                    if (!hasChanges(changes)) {
+                        return Task.forResult(changes);
+                    }
+
+                    final List<Map<String, ?>> rows = new ArrayList<>();
+                    for (AppListItemEntity it : entities) {
+                        rows.add(Utils.serializeAppListItemEntity(it));
+                    }
+
+                    return Task.call(() -> {
+                        replaceLevel(key, rows, syncGeneration);
+                        return changes;
+                    }, Utils.IO_EXECUTOR);
+                }, Utils.SERIALIZATION_EXECUTOR);
+    }
+
+    private static boolean hasChanges(@NonNull Map<String, Object> changes) {
+        return !((List<?>) changes.get("created")).isEmpty()
+                || !((List<?>) changes.get("updated")).isEmpty()
+                || !((List<?>) changes.get("deleted")).isEmpty();
+    }
+
+    @NonNull
+    private Task<List<AppListItemEntity>> obtainVisibleEntities(@NonNull String key, @Nullable PerformanceMonitor.Trace trace) {
+        AppListItemEntity parent = null;
+        if (!ROOT_KEY.equals(key)) {
+            parent = new AppListItemEntity();
+            parent.setObjectId(key);
+        }
+
+        Task<List<AppListItemEntity>> obtainTask = AppListItemService.getInstance().obtainAllAppListItemsByCurrentCatalogAndParent(parent, null, null);
+        if (trace != null) {
+            obtainTask = trace.sdk(obtainTask);
+        }
+
+        return obtainTask
+                .onSuccess(task -> {
+                    List<AppListItemEntity> result = new ArrayList<>();
+                    for (AppListItemEntity it : task.getResult()) {
+                        if (visibilityFilter.isVisible(it)) {
+                            result.add(it);
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    @NonNull
+    private Task<List<Map<String, ?>>> sync(@NonNull String key, @Nullable PerformanceMonitor.Trace trace) {
+        final int syncGeneration = generation.get();
+
+        // Syncs of different generations aren't shared (the shared request is measured by the first trace only).
+        return inFlightSyncs.execute(syncGeneration + ":" + key, () -> obtainVisibleEntities(key, trace)
+                .onSuccess(task -> {
+                    List<Map<String, ?>> rows = new ArrayList<>();
+
+                    List<AppListItemEntity> entities = task.getResult();
+                    for (AppListItemEntity it : entities) {
+                        rows.add(Utils.serializeAppListItemEntity(it));
+                    }
+
+                    return rows;
+                }, Utils.SERIALIZATION_EXECUTOR)
+                .onSuccess(task -> {
+                    replaceLevel(key, task.getResult(), syncGeneration);
+                    return task.getResult();
+                }, Utils.IO_EXECUTOR)
+        );
+    }
+
+    private static class Level {
+
+        final long syncedAt;
+
+        @NonNull
+        final List<Map<String, ?>> rows;
+
+        Level(long syncedAt, @NonNull List<Map<String, ?>> rows) {
+            this.syncedAt = syncedAt;
+            this.rows = rows;
+        }
+    }
+
+    @Nullable
+    private Level queryLevel(@NonNull String key) {
+        final SQLiteDatabase db = getReadableDatabase();
+
+        final long syncedAt;
+        try (Cursor cursor = db.query(TABLE_LEVELS, new String[]{"synced_at"}, "parent_id = ?", new String[]{key}, null, null, null)) {
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+            syncedAt = cursor.getLong(0);
+        }
+
+        final List<Map<String, ?>> rows = new ArrayList<>();
+        try (Cursor cursor = db.query(
+                TABLE_ITEMS,
+                new String[]{"id", "component_id", "type", "label", "description", "image_file_key", "item_index", "text_color"},
+                "parent_id = ?",
+                new String[]{key},
+                null,
+                null,
+                "position"
+        )) {
+            while (cursor.moveToNext()) {
+                // Keys must be the same as in Utils.serializeAppListItemEntity()
+                final Map<String, Object> row = new HashMap<>();
+                row.put("id", cursor.getString(0));
+                row.put("parent_id", key);
+                row.put("component_id", cursor.getString(1));
+                row.put("type", cursor.getString(2));
+                row.put("label", cursor.getString(3));
+                row.put("description", cursor.getString(4));
+                row.put("imageFileKey", cursor.getString(5));
+                row.put("index", cursor.isNull(6) ? null : cursor.getInt(6));
+                row.put("textColor", cursor.getString(7));
+                rows.add(row);
+            }
+        }
+
+        return new Level(syncedAt, rows);
+    }
+
+    /**
+     * NOTICE: Must be invoked on {@link Utils#IO_EXECUTOR} (the same as clear()), so the generation check
+     * and the write can't interleave with clearing.
+     */
+    private void replaceLevel(@NonNull String key, @NonNull List<Map<String, ?>> rows, int syncGeneration) {
+        if (syncGeneration != generation.get()) {
+            Log.d(TAG, "App-list level '" + key + "' isn't stored - the index has been cleared meanwhile");
+            return;
+        }
+
+        final SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_ITEMS, "parent_id = ?", new String[]{key});
+
+            final ContentValues values = new ContentValues();
+            for (int i = 0; i < rows.size(); i++) {
+                final Map<String, ?> row = rows.get(i);
+
+                values.clear();
+                values.put("parent_id", key);
+                values.put("position", i);
+                values.put("id", (String) row.get("id"));
+                values.put("component_id", (String) row.get("component_id"));
+                values.put("type", (String) row.get("type"));
+                values.put("label", (String) row.get("label"));
+                values.put("description", (String) row.get("description"));
+                values.put("image_file_key", (String) row.get("imageFileKey"));
+                final Object index = row.get("index");
+                if (index != null) {
+                    values.put("item_index", ((Number) index).intValue());
+                } else {
+                    values.putNull("item_index");
+                }
+                values.put("text_color", (String) row.get("textColor"));
+
+                db.insert(TABLE_ITEMS, null, values);
+            }
+
+            values.clear();
+            values.put("parent_id", key);
+            values.put("synced_at", System.currentTimeMillis());
+            db.insertWithOnConflict(TABLE_LEVELS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
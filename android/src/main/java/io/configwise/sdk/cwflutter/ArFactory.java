@@ -28,6 +28,7 @@ class ArFactory extends PlatformViewFactory {
 
     @Override
     public PlatformView create(Context context, int viewId, Object args) {
-        return new CwflutterArView(activity, context, messenger, viewId);
+        // Pre-warmed scene (if any, see ArScenePool) saves construction of ArSceneView and ArAdapter.
+        return new CwflutterArView(activity, context, messenger, viewId, ArScenePool.getInstance().acquire(activity));
     }
 }
\ No newline at end of file
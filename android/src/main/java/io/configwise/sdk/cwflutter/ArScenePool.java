@@ -0,0 +1,211 @@
+package io.configwise.sdk.cwflutter;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.ar.sceneform.ArSceneView;
+
+import io.configwise.sdk.ar.ArAdapter;
+
+/**
+ * Holds one pre-warmed ArSceneView / ArAdapter (opt-in, see 'prewarmArScene' method), which is handed out
+ * by {@link ArFactory} to the next AR view, so opening of the AR screen skips construction of them.
+ *
+ * Views can be created on main UI thread only, so they are built once the main thread is idle
+ * (see {@link MessageQueue.IdleHandler}) instead of in the 'prewarmArScene' call - the build doesn't
+ * delay the frame (or app start) which requested it.
+ *
+ * The pre-warmed instance is released once it's idle longer than the idle timeout, or on memory
+ * pressure (see {@link MemoryPressureMonitor}). It's re-built for the new activity if the activity
+ * is re-created due configuration change (see {@link #retarget(Activity)}).
+ *
+ * NOTICE: All methods must be invoked from main UI thread (views must be created there).
+ */
+class ArScenePool implements MemoryPressureMonitor.Listener {
+
+    private static final String TAG = ArScenePool.class.getSimpleName();
+
+    static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60 * 1000;
+
+    static class Prewarmed {
+
+        @NonNull
+        final ArSceneView arSceneView;
+
+        @NonNull
+        final ArAdapter arAdapter;
+
+        Prewarmed(@NonNull ArSceneView arSceneView, @NonNull ArAdapter arAdapter) {
+            this.arSceneView = arSceneView;
+            this.arAdapter = arAdapter;
+        }
+    }
+
+    @Nullable
+    private static ArScenePool instance;
+
+    @NonNull
+    static synchronized ArScenePool getInstance() {
+        if (instance == null) {
+            instance = new ArScenePool();
+        }
+        return instance;
+    }
+
+    @Nullable
+    private Prewarmed prewarmed;
+
+    @Nullable
+    private Activity prewarmedActivity;
+
+    // Activity to build the instance for once the main thread is idle (null if no build is scheduled).
+    @Nullable
+    private Activity scheduledActivity;
+
+    private long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+
+    @NonNull
+    private final MessageQueue.IdleHandler buildIdleHandler = () -> {
+        build();
+        // One-shot.
+        return false;
+    };
+
+    @NonNull
+    private final Runnable idleTimeoutRunnable = () -> {
+        Log.d(TAG, "Pre-warmed AR scene is released due idle timeout");
+        release();
+    };
+
+    private ArScenePool() {
+    }
+
+    /**
+     * Schedules building of ArSceneView and ArAdapter for the activity once the main thread is idle
+     * (if not built yet) and (re)starts the idle timeout. Returns false if pre-warming is refused
+     * due memory pressure.
+     */
+    boolean prewarm(@NonNull Activity activity, long idleTimeoutMillis) {
+        Utils.checkOnMainThread();
+
+        if (MemoryPressureMonitor.getInstance().getLevel() >= MemoryPressureMonitor.LEVEL_DROP_CACHES) {
+            return false;
+        }
+
+        if ((prewarmed != null && prewarmedActivity != activity)
+                || (scheduledActivity != null && scheduledActivity != activity)) {
+            release();
+        }
+
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        if (prewarmed == null && scheduledActivity == null) {
+            scheduledActivity = activity;
+            Looper.getMainLooper().getQueue().addIdleHandler(buildIdleHandler);
+        }
+
+        Utils.MAIN_HANDLER.removeCallbacks(idleTimeoutRunnable);
+        if (idleTimeoutMillis > 0) {
+            Utils.MAIN_HANDLER.postDelayed(idleTimeoutRunnable, idleTimeoutMillis);
+        }
+        return true;
+    }
+
+    /**
+     * Re-builds the pre-warmed instance (if any) for the activity re-created due configuration change.
+     */
+    void retarget(@NonNull Activity activity) {
+        Utils.checkOnMainThread();
+
+        final Activity previousActivity = prewarmed != null ? prewarmedActivity : scheduledActivity;
+        if (previousActivity == null || previousActivity == activity) {
+            return;
+        }
+
+        final long idleTimeoutMillis = this.idleTimeoutMillis;
+        release();
+        prewarm(activity, idleTimeoutMillis);
+    }
+
+    /**
+     * Hands out the pre-warmed instance (if it's built for the activity). The caller owns it afterwards.
+     * A build which hasn't run yet is cancelled (the caller builds its own instance).
+     */
+    @Nullable
+    Prewarmed acquire(@NonNull Activity activity) {
+        Utils.checkOnMainThread();
+
+        if (prewarmed == null || prewarmedActivity != activity) {
+            if (scheduledActivity == activity) {
+                forget();
+            }
+            return null;
+        }
+
+        final Prewarmed result = prewarmed;
+        forget();
+        return result;
+    }
+
+    void release() {
+        Utils.checkOnMainThread();
+
+        if (prewarmed != null) {
+            prewarmed.arAdapter.destroyArSession();
+        }
+        forget();
+    }
+
+    private void build() {
+        final Activity activity = scheduledActivity;
+        scheduledActivity = null;
+
+        if (activity == null || prewarmed != null || activity.isFinishing() || activity.isDestroyed()) {
+            return;
+        }
+        if (MemoryPressureMonitor.getInstance().getLevel() >= MemoryPressureMonitor.LEVEL_DROP_CACHES) {
+            Log.d(TAG, "Pre-warming of AR scene is skipped due memory pressure");
+            forget();
+            return;
+        }
+
+        final ArSceneView arSceneView = new ArSceneView(activity);
+        final ArAdapter arAdapter = new ArAdapter(
+                activity,
+                activity,
+                arSceneView,
+                null
+        );
+
+        prewarmed = new Prewarmed(arSceneView, arAdapter);
+        prewarmedActivity = activity;
+        MemoryPressureMonitor.getInstance().addListener(this);
+    }
+
+    private void forget() {
+        if (prewarmed != null) {
+            MemoryPressureMonitor.getInstance().removeListener(this);
+        }
+        if (scheduledActivity != null) {
+            Looper.getMainLooper().getQueue().removeIdleHandler(buildIdleHandler);
+        }
+        prewarmed = null;
+        prewarmedActivity = null;
+        scheduledActivity = null;
+        Utils.MAIN_HANDLER.removeCallbacks(idleTimeoutRunnable);
+    }
+
+    // MARK: - MemoryPressureMonitor.Listener
+
+    @Override
+    public void onMemoryPressureLevelChanged(int level) {
+        if (level >= MemoryPressureMonitor.LEVEL_DROP_CACHES && prewarmed != null) {
+            Log.d(TAG, "Pre-warmed AR scene is released due memory pressure");
+            release();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.configwise.sdk.cwflutter;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.google.ar.core.Frame;
+import com.google.ar.sceneform.AnchorNode;
+import com.google.ar.sceneform.ArSceneView;
+import com.google.ar.sceneform.FrameTime;
+import com.google.ar.sceneform.Node;
+import com.google.ar.sceneform.Scene;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.configwise.sdk.ar.ArAdapter;
+
+/**
+ * Samples frames of the AR scene (Scene.OnUpdateListener) and aggregates them natively:
+ * frame time percentiles, dropped frames, tracking state, number of models and anchors.
+ * Aggregated window is reported every {@link #intervalMillis} and reset.
+ *
+ * NOTICE: All methods must be invoked from main UI thread.
+ */
+class ArTelemetry implements Scene.OnUpdateListener {
+
+    private static final String TAG = ArTelemetry.class.getSimpleName();
+
+    static final long DEFAULT_INTERVAL_MILLIS = 1000;
+
+    interface Reporter {
+        void report(@NonNull Map<String, Object> telemetry);
+    }
+
+    @NonNull
+    private final ArSceneView arSceneView;
+
+    @NonNull
+    private final ArAdapter arAdapter;
+
+    @NonNull
+    private final Reporter reporter;
+
+    private final long intervalMillis;
+
+    // Expected frame interval (by display refresh rate)
+    private final long expectedFrameMicros;
+
+    private final PerformanceMonitor.Histogram frameTimes = new PerformanceMonitor.Histogram();
+
+    private long droppedFrames = 0;
+
+    private long windowStartedAt = SystemClock.elapsedRealtime();
+
+    ArTelemetry(
+            @NonNull ArSceneView arSceneView,
+            @NonNull ArAdapter arAdapter,
+            float refreshRate,
+            long intervalMillis,
+            @NonNull Reporter reporter
+    ) {
+        this.arSceneView = arSceneView;
+        this.arAdapter = arAdapter;
+        this.reporter = reporter;
+        this.intervalMillis = intervalMillis > 0 ? intervalMillis : DEFAULT_INTERVAL_MILLIS;
+        this.expectedFrameMicros = (long) (1_000_000 / (refreshRate > 0 ? refreshRate : 60f));
+    }
+
+    void start() {
+        Utils.checkOnMainThread();
+
+        windowStartedAt = SystemClock.elapsedRealtime();
+        arSceneView.getScene().addOnUpdateListener(this);
+    }
+
+    void stop() {
+        Utils.checkOnMainThread();
+
+        arSceneView.getScene().removeOnUpdateListener(this);
+    }
+
+    // MARK: - Scene.OnUpdateListener
+
+    @Override
+    public void onUpdate(FrameTime frameTime) {
+        final long frameMicros = (long) (frameTime.getDeltaSeconds() * 1_000_000);
+        if (frameMicros > 0) {
+            frameTimes.record(frameMicros);
+
+            // Frames which should have been rendered during this (long) frame.
+            final long missed = (frameMicros + expectedFrameMicros / 2) / expectedFrameMicros - 1;
+            if (missed > 0) {
+                droppedFrames += missed;
+            }
+        }
+
+        final long now = SystemClock.elapsedRealtime();
+        if (now - windowStartedAt < intervalMillis) {
+            return;
+        }
+
+        report(now - windowStartedAt);
+
+        frameTimes.reset();
+        droppedFrames = 0;
+        windowStartedAt = now;
+    }
+
+    private void report(long windowMillis) {
+        final Map<String, Object> frames = frameTimes.toMap();
+
+        int anchorCount = 0;
+        for (Node it : arSceneView.getScene().getChildren()) {
+            if (it instanceof AnchorNode) {
+                anchorCount++;
+            }
+        }
+
+        final Frame arFrame = arSceneView.getArFrame();
+
+        final Map<String, Object> telemetry = new HashMap<>();
+        telemetry.put("windowMillis", windowMillis);
+        telemetry.put("frameCount", frames.get("count"));
+        telemetry.put("frameTime", frames);
+        telemetry.put("droppedFrames", droppedFrames);
+        telemetry.put("trackingState", arFrame != null ? arFrame.getCamera().getTrackingState().name() : null);
+        telemetry.put("modelCount", arAdapter.getComponentModels().size());
+        telemetry.put("anchorCount", anchorCount);
+
+        reporter.report(telemetry);
+    }
+}
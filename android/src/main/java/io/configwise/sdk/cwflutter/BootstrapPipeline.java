@@ -0,0 +1,134 @@
+package io.configwise.sdk.cwflutter;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import com.parse.boltsinternal.Task;
+import io.flutter.plugin.common.EventChannel;
+
+/**
+ * Runs stages of the plugin start-up as tasks (independent stages run in parallel) and reports
+ * start / completion and timing of every stage to the 'cwflutter/bootstrap' event channel.
+ *
+ * Events of the current run are replayed to a listener which subscribes later.
+ *
+ * NOTICE: All methods must be invoked from main UI thread.
+ */
+class BootstrapPipeline implements EventChannel.StreamHandler {
+
+    private static final String TAG = BootstrapPipeline.class.getSimpleName();
+
+    static final String STAGE_SDK = "sdk";
+    static final String STAGE_LOCAL_INDEX = "localIndex";
+    static final String STAGE_SESSION = "session";
+    static final String STAGE_CATALOG = "catalog";
+
+    private static final String STATUS_STARTED = "started";
+    private static final String STATUS_COMPLETED = "completed";
+    private static final String STATUS_FAILED = "failed";
+
+    @Nullable
+    private EventChannel.EventSink events;
+
+    // Events of the current run (to replay them to a late listener).
+    private final List<Map<String, Object>> history = new ArrayList<>();
+
+    private long startedAt = 0;
+
+    // Duration of every completed stage of the current run (msecs).
+    private final Map<String, Object> durations = new HashMap<>();
+
+    // MARK: - EventChannel.StreamHandler
+
+    @Override
+    public void onListen(Object arguments, EventChannel.EventSink events) {
+        this.events = events;
+        for (Map<String, Object> it : history) {
+            events.success(it);
+        }
+    }
+
+    @Override
+    public void onCancel(Object arguments) {
+        this.events = null;
+    }
+
+    // MARK: - Stages
+
+    /**
+     * Starts a new run (forgets events of the previous one).
+     */
+    void begin() {
+        Utils.checkOnMainThread();
+
+        history.clear();
+        durations.clear();
+        startedAt = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * Starts the stage and reports its completion. Result of the returned task is the result of the stage.
+     */
+    @NonNull
+    <T> Task<T> stage(@NonNull String name, @NonNull Callable<Task<T>> stage) {
+        Utils.checkOnMainThread();
+
+        final long stageStartedAt = SystemClock.elapsedRealtime();
+        emit(name, STATUS_STARTED, 0, null);
+
+        Task<T> task;
+        try {
+            task = stage.call();
+        } catch (Exception e) {
+            task = Task.forError(e);
+        }
+
+        return task.continueWithTask(it -> {
+            final long duration = SystemClock.elapsedRealtime() - stageStartedAt;
+            if (it.isFaulted() || it.isCancelled()) {
+                final Exception e = it.getError();
+                Log.e(TAG, "Bootstrap stage '" + name + "' is failed", e);
+                emit(name, STATUS_FAILED, duration, e != null ? e.getMessage() : "Invocation task is canceled.");
+            } else {
+                durations.put(name, duration);
+                emit(name, STATUS_COMPLETED, duration, null);
+            }
+            return it;
+        }, Task.UI_THREAD_EXECUTOR);
+    }
+
+    /**
+     * Returns { stage: duration (msecs) } of completed stages and 'total' (msecs since begin()).
+     */
+    @NonNull
+    Map<String, Object> getDurations() {
+        Utils.checkOnMainThread();
+
+        final Map<String, Object> result = new HashMap<>(durations);
+        result.put("total", SystemClock.elapsedRealtime() - startedAt);
+        return result;
+    }
+
+    private void emit(@NonNull String stage, @NonNull String status, long durationMillis, @Nullable String error) {
+        final Map<String, Object> event = new HashMap<>();
+        event.put("stage", stage);
+        event.put("status", status);
+        event.put("durationMillis", durationMillis);
+        event.put("sinceStartMillis", SystemClock.elapsedRealtime() - startedAt);
+        event.put("error", error);
+
+        history.add(event);
+        if (events != null) {
+            events.success(event);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package io.configwise.sdk.cwflutter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.configwise.sdk.domain.AppListItemEntity;
+import io.configwise.sdk.domain.ComponentEntity;
+
+/**
+ * Compact columnar encoding of catalog lists (opt-in alternative to a list of maps).
+ *
+ * Field names are written once (in the header), then all rows are packed into a single byte array,
+ * which is passed through the platform channel as Uint8List. See lib/utils/catalog_codec.dart
+ * for the matching Dart decoder.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   u8      version
+ *   varint  fieldCount
+ *   fieldCount x { u8 type, string name }
+ *   varint  rowCount
+ *   rowCount x fieldCount x value
+ * </pre>
+ * where string is varint (byteLength + 1, 0 means null) followed by UTF-8 bytes, bool is u8
+ * (0 - false, 1 - true, 2 - null) and int is i64.
+ */
+class CatalogCodec {
+
+    private static final String TAG = CatalogCodec.class.getSimpleName();
+
+    static final int VERSION = 1;
+
+    static final int TYPE_STRING = 0;
+    static final int TYPE_BOOL = 1;
+    static final int TYPE_INT = 2;
+
+    interface FieldReader<T> {
+        @Nullable
+        Object read(@NonNull T entity);
+    }
+
+    static class Field<T> {
+
+        @NonNull
+        final String name;
+
+        final int type;
+
+        @NonNull
+        final FieldReader<T> reader;
+
+        Field(@NonNull String name, int type, @NonNull FieldReader<T> reader) {
+            this.name = name;
+            this.type = type;
+            this.reader = reader;
+        }
+    }
+
+    // Must be kept in sync with Utils.serializeComponentEntity()
+    static final List<Field<ComponentEntity>> COMPONENT_FIELDS = Collections.unmodifiableList(Arrays.asList(
+            new Field<ComponentEntity>("id", TYPE_STRING, ComponentEntity::getObjectId),
+            new Field<ComponentEntity>("parent_id", TYPE_STRING, it -> it.getParent() != null ? it.getParent().getObjectId() : ""),
+            new Field<ComponentEntity>("genericName", TYPE_STRING, ComponentEntity::getGenericName),
+            new Field<ComponentEntity>("description", TYPE_STRING, ComponentEntity::getDescription),
+            new Field<ComponentEntity>("productNumber", TYPE_STRING, ComponentEntity::getProductNumber),
+            new Field<ComponentEntity>("productLink", TYPE_STRING, ComponentEntity::getProductLink),
+            new Field<ComponentEntity>("isFloating", TYPE_BOOL, ComponentEntity::isFloating),
+            new Field<ComponentEntity>("thumbnailFileKey", TYPE_STRING, it -> it.getThumbnailFilePath() != null ? it.getThumbnailFilePath() : ""),
+            new Field<ComponentEntity>("totalSize", TYPE_INT, ComponentEntity::getTotalSize),
+            new Field<ComponentEntity>("isVariance", TYPE_BOOL, it -> it.getParent() != null)
+    ));
+
+    // Must be kept in sync with Utils.serializeAppListItemEntity()
+    static final List<Field<AppListItemEntity>> APP_LIST_ITEM_FIELDS = Collections.unmodifiableList(Arrays.asList(
+            new Field<AppListItemEntity>("id", TYPE_STRING, AppListItemEntity::getObjectId),
+            new Field<AppListItemEntity>("parent_id", TYPE_STRING, it -> it.getParent() != null ? it.getParent().getObjectId() : ""),
+            new Field<AppListItemEntity>("component_id", TYPE_STRING, it -> it.getComponent() != null ? it.getComponent().getObjectId() : ""),
+            new Field<AppListItemEntity>("type", TYPE_STRING, it -> it.getType().value()),
+            new Field<AppListItemEntity>("label", TYPE_STRING, AppListItemEntity::getLabel),
+            new Field<AppListItemEntity>("description", TYPE_STRING, AppListItemEntity::getDescription),
+            new Field<AppListItemEntity>("imageFileKey", TYPE_STRING, it -> it.getImagePath() != null ? it.getImagePath() : ""),
+            new Field<AppListItemEntity>("index", TYPE_INT, AppListItemEntity::getIndex),
+            new Field<AppListItemEntity>("textColor", TYPE_STRING, AppListItemEntity::getTextColor)
+    ));
+
+    // Same schema as APP_LIST_ITEM_FIELDS, but reads rows which have been serialized already
+    // (eg: by AppListItemIndex).
+    static final List<Field<Map<String, ?>>> APP_LIST_ITEM_ROW_FIELDS = rowFields(APP_LIST_ITEM_FIELDS);
+
+    /**
+     * Returns fields (keeping schema order) which names are in given set (all fields if the set is null).
+     */
+    @NonNull
+    static <T> List<Field<T>> project(@NonNull List<Field<T>> fields, @Nullable Set<String> names) {
+        if (names == null) {
+            return fields;
+        }
+
+        final List<Field<T>> result = new ArrayList<>();
+        for (Field<T> field : fields) {
+            if (names.contains(field.name)) {
+                result.add(field);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds fields with the same names / types, which read values from serialized maps.
+     */
+    @NonNull
+    static <T> List<Field<Map<String, ?>>> rowFields(@NonNull List<Field<T>> fields) {
+        final List<Field<Map<String, ?>>> result = new ArrayList<>();
+        for (Field<T> field : fields) {
+            final String name = field.name;
+            result.add(new Field<Map<String, ?>>(name, field.type, row -> row.get(name)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @NonNull
+    static <T> byte[] encode(@NonNull List<Field<T>> fields, @NonNull List<T> entities) {
+        // Rough initial guess (grows on demand), to avoid most re-allocations.
+        final Writer writer = new Writer(64 + fields.size() * 16 + entities.size() * fields.size() * 24);
+
+        writer.putByte(VERSION);
+        writer.putVarint(fields.size());
+        for (Field<T> field : fields) {
+            writer.putByte(field.type);
+            writer.putString(field.name);
+        }
+
+        writer.putVarint(entities.size());
+        for (T entity : entities) {
+            for (Field<T> field : fields) {
+                final Object value = field.reader.read(entity);
+                switch (field.type) {
+                    case TYPE_STRING:
+                        writer.putString(value != null ? value.toString() : null);
+                        break;
+
+                    case TYPE_BOOL:
+                        writer.putByte(value == null ? 2 : ((Boolean) value ? 1 : 0));
+                        break;
+
+                    case TYPE_INT:
+                        writer.putLong(value != null ? ((Number) value).longValue() : 0);
+                        break;
+
+                    default:
+                        throw new IllegalArgumentException("Unsupported field type: " + field.type);
+                }
+            }
+        }
+
+        return writer.toByteArray();
+    }
+
+    private static class Writer {
+
+        @NonNull
+        private ByteBuffer buffer;
+
+        Writer(int initialCapacity) {
+            buffer = ByteBuffer.allocate(Math.max(initialCapacity, 64));
+        }
+
+        void putByte(int value) {
+            ensureRemaining(1);
+            buffer.put((byte) value);
+        }
+
+        void putLong(long value) {
+            ensureRemaining(8);
+            buffer.putLong(value);
+        }
+
+        void putVarint(int value) {
+            ensureRemaining(5);
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putString(@Nullable String value) {
+            if (value == null) {
+                putVarint(0);
+                return;
+            }
+
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarint(bytes.length + 1);
+            ensureRemaining(bytes.length);
+            buffer.put(bytes);
+        }
+
+        @NonNull
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+
+        private void ensureRemaining(int count) {
+            if (buffer.remaining() >= count) {
+                return;
+            }
+
+            final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + count));
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.configwise.sdk.cwflutter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes changes of a list of entities since a watermark (updatedAt of the last sync, msecs):
+ *
+ * - created: entities which aren't known by the client (or created after the watermark if known ids aren't given)
+ * - updated: known entities updated after the watermark
+ * - deleted: ids of known entities which aren't in the list anymore (removed or not visible)
+ *
+ * Entities without timestamps are reported once: as created if they aren't known by the client (or on
+ * the first sync, when the watermark is 0, if known ids aren't given), never as updated. The new watermark
+ * is the latest timestamp of the list (or the given one if there is nothing newer).
+ *
+ * NOTICE: The diff is computed locally from the full list, so it reduces the platform channel traffic only.
+ */
+class ChangeFeed<T> {
+
+    interface Adapter<T> {
+
+        @NonNull
+        String getId(@NonNull T entity);
+
+        @Nullable
+        Date getCreatedAt(@NonNull T entity);
+
+        @Nullable
+        Date getUpdatedAt(@NonNull T entity);
+
+        @NonNull
+        Map<String, ?> serialize(@NonNull T entity);
+    }
+
+    @NonNull
+    private final Adapter<T> adapter;
+
+    ChangeFeed(@NonNull Adapter<T> adapter) {
+        this.adapter = adapter;
+    }
+
+    /**
+     * Returns { created: [serialized], updated: [serialized], deleted: [id], watermark: msecs }.
+     * Only changed entities are serialized.
+     */
+    @NonNull
+    Map<String, Object> diff(@NonNull List<T> entities, long since, @Nullable Set<String> knownIds) {
+        final List<Map<String, ?>> created = new ArrayList<>();
+        final List<Map<String, ?>> updated = new ArrayList<>();
+        final List<String> deleted = new ArrayList<>();
+        long watermark = since;
+
+        final Set<String> ids = new HashSet<>();
+        for (T it : entities) {
+            final String id = adapter.getId(it);
+            ids.add(id);
+
+            final Date createdAt = adapter.getCreatedAt(it);
+            final Date updatedAt = adapter.getUpdatedAt(it);
+            if (createdAt != null) {
+                watermark = Math.max(watermark, createdAt.getTime());
+            }
+            if (updatedAt != null) {
+                watermark = Math.max(watermark, updatedAt.getTime());
+            }
+
+            final boolean isCreated;
+            if (knownIds != null) {
+                isCreated = !knownIds.contains(id);
+            } else if (createdAt != null) {
+                isCreated = createdAt.getTime() > since;
+            } else {
+                isCreated = since <= 0;
+            }
+
+            if (isCreated) {
+                created.add(adapter.serialize(it));
+            } else if (updatedAt != null && updatedAt.getTime() > since) {
+                updated.add(adapter.serialize(it));
+            }
+        }
+
+        if (knownIds != null) {
+            for (String it : knownIds) {
+                if (!ids.contains(it)) {
+                    deleted.add(it);
+                }
+            }
+        }
+
+        final Map<String, Object> result = new HashMap<>();
+        result.put("created", created);
+        result.put("updated", updated);
+        result.put("deleted", deleted);
+        result.put("watermark", watermark);
+        return result;
+    }
+}
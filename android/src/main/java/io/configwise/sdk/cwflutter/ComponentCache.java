@@ -0,0 +1,217 @@
+package io.configwise.sdk.cwflutter;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.parse.boltsinternal.Task;
+import io.configwise.sdk.domain.ComponentEntity;
+import io.configwise.sdk.services.ComponentService;
+
+/**
+ * Process-wide LRU cache of components (keyed by component id).
+ *
+ * Every entry keeps both the {@link ComponentEntity} and its serialized map (see
+ * {@link Utils#serializeComponentEntity(ComponentEntity)}), so repeated lookups are answered
+ * without touching the SDK and without serializing the entity again.
+ * Entries expire after TTL. Least recently used entries are evicted once the estimated
+ * size of cached data exceeds the memory budget.
+ */
+class ComponentCache {
+
+    private static final String TAG = ComponentCache.class.getSimpleName();
+
+    static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000;
+
+    static final long DEFAULT_MAX_SIZE_IN_BYTES = 2 * 1024 * 1024;
+
+    // Rough overhead of the map entry, boxed values and the cache entry itself.
+    private static final long ENTRY_OVERHEAD_IN_BYTES = 256;
+
+    private static final long FIELD_OVERHEAD_IN_BYTES = 48;
+
+    static class Entry {
+
+        @NonNull
+        final ComponentEntity component;
+
+        @NonNull
+        final Map<String, ?> serialized;
+
+        final long sizeInBytes;
+
+        final long expiresAt;
+
+        Entry(@NonNull ComponentEntity component, @NonNull Map<String, ?> serialized, long sizeInBytes, long expiresAt) {
+            this.component = component;
+            this.serialized = serialized;
+            this.sizeInBytes = sizeInBytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @Nullable
+    private static ComponentCache instance;
+
+    @NonNull
+    static synchronized ComponentCache getInstance() {
+        if (instance == null) {
+            instance = new ComponentCache();
+        }
+        return instance;
+    }
+
+    // Access-ordered, so iteration starts from the least recently used entry.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long ttlMillis = DEFAULT_TTL_MILLIS;
+
+    private long maxSizeInBytes = DEFAULT_MAX_SIZE_IN_BYTES;
+
+    private long sizeInBytes = 0;
+
+    // Concurrent lookups of the same component share one ComponentService request.
+    private final SingleFlight<String, Entry> inFlightLookups = new SingleFlight<>();
+
+    private ComponentCache() {
+    }
+
+    synchronized void configure(long ttlMillis, long maxSizeInBytes) {
+        this.ttlMillis = ttlMillis;
+        this.maxSizeInBytes = maxSizeInBytes;
+        trimToSize(maxSizeInBytes);
+    }
+
+    /**
+     * Obtains component from the cache or (if missing / expired) from {@link ComponentService}.
+     * Concurrent requests of the same component share one request to ComponentService.
+     * Result of the task is null if component not found.
+     */
+    Task<Entry> obtainComponentById(@NonNull String componentId) {
+        return obtainComponentById(componentId, null);
+    }
+
+    /**
+     * The same as {@link #obtainComponentById(String)}, the ComponentService request (if any) is measured
+     * by the trace (the request shared by concurrent lookups is measured by the first one).
+     */
+    Task<Entry> obtainComponentById(@NonNull String componentId, @Nullable PerformanceMonitor.Trace trace) {
+        final Entry cached = get(componentId);
+        if (cached != null) {
+            return Task.forResult(cached);
+        }
+
+        return inFlightLookups.execute(componentId, () -> obtainComponent(componentId, trace)
+                .onSuccess(task -> {
+                    final ComponentEntity component = task.getResult();
+                    return component != null ? put(component) : null;
+                }, Utils.SERIALIZATION_EXECUTOR)
+        );
+    }
+
+    @NonNull
+    private static Task<ComponentEntity> obtainComponent(@NonNull String componentId, @Nullable PerformanceMonitor.Trace trace) {
+        final Task<ComponentEntity> task = ComponentService.getInstance().obtainComponentById(componentId);
+        return trace != null ? trace.sdk(task) : task;
+    }
+
+    @Nullable
+    synchronized Entry get(@NonNull String componentId) {
+        final Entry entry = entries.get(componentId);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.expiresAt <= SystemClock.elapsedRealtime()) {
+            remove(componentId);
+            return null;
+        }
+
+        return entry;
+    }
+
+    @NonNull
+    Entry put(@NonNull ComponentEntity component) {
+        return put(component, Utils.serializeComponentEntity(component));
+    }
+
+    /**
+     * Puts the component, which has already been serialized by the caller.
+     * Given map must not be modified afterwards.
+     */
+    @NonNull
+    synchronized Entry put(@NonNull ComponentEntity component, @NonNull Map<String, ?> serializedComponent) {
+        final Map<String, ?> serialized = Collections.unmodifiableMap(serializedComponent);
+        final Entry entry = new Entry(
+                component,
+                serialized,
+                estimateSizeInBytes(serialized),
+                SystemClock.elapsedRealtime() + ttlMillis
+        );
+
+        final String componentId = component.getObjectId();
+        if (ttlMillis <= 0 || entry.sizeInBytes > maxSizeInBytes) {
+            // Caching is disabled or the entry never fits into the budget.
+            remove(componentId);
+            return entry;
+        }
+
+        remove(componentId);
+        entries.put(componentId, entry);
+        sizeInBytes += entry.sizeInBytes;
+
+        trimToSize(maxSizeInBytes);
+
+        return entry;
+    }
+
+    synchronized void invalidate(@NonNull String componentId) {
+        remove(componentId);
+    }
+
+    synchronized void invalidateAll() {
+        entries.clear();
+        sizeInBytes = 0;
+    }
+
+    synchronized void trimToSize(long maxSizeInBytes) {
+        final long now = SystemClock.elapsedRealtime();
+
+        final Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry entry = it.next().getValue();
+            if (sizeInBytes <= maxSizeInBytes && entry.expiresAt > now) {
+                continue;
+            }
+
+            it.remove();
+            sizeInBytes -= entry.sizeInBytes;
+        }
+    }
+
+    private void remove(@NonNull String componentId) {
+        final Entry removed = entries.remove(componentId);
+        if (removed != null) {
+            sizeInBytes -= removed.sizeInBytes;
+        }
+    }
+
+    private static long estimateSizeInBytes(@NonNull Map<String, ?> serialized) {
+        long result = ENTRY_OVERHEAD_IN_BYTES;
+        for (Map.Entry<String, ?> it : serialized.entrySet()) {
+            result += FIELD_OVERHEAD_IN_BYTES + 2L * it.getKey().length();
+
+            final Object value = it.getValue();
+            if (value instanceof String) {
+                result += 2L * ((String) value).length();
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package io.configwise.sdk.cwflutter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+
+import io.configwise.sdk.domain.ComponentEntity;
+
+/**
+ * Filter of components, applied on the native side before serialization
+ * (see 'filter' parameter of 'obtainAllComponents' method). Null criteria are ignored.
+ */
+class ComponentFilter {
+
+    private static final String TAG = ComponentFilter.class.getSimpleName();
+
+    // Lower-cased
+    @Nullable
+    private final String genericNamePrefix;
+
+    @Nullable
+    private final Boolean isFloating;
+
+    @Nullable
+    private final Boolean isVariance;
+
+    ComponentFilter(@Nullable String genericNamePrefix, @Nullable Boolean isFloating, @Nullable Boolean isVariance) {
+        this.genericNamePrefix = genericNamePrefix != null && !genericNamePrefix.isEmpty()
+                ? genericNamePrefix.toLowerCase(Locale.ROOT)
+                : null;
+        this.isFloating = isFloating;
+        this.isVariance = isVariance;
+    }
+
+    @Nullable
+    static ComponentFilter fromArgs(@Nullable Map<String, ?> args) {
+        if (args == null) {
+            return null;
+        }
+
+        return new ComponentFilter(
+                (String) args.get("genericNamePrefix"),
+                (Boolean) args.get("isFloating"),
+                (Boolean) args.get("isVariance")
+        );
+    }
+
+    boolean matches(@NonNull ComponentEntity component) {
+        if (genericNamePrefix != null) {
+            final String genericName = component.getGenericName();
+            if (genericName == null || !genericName.toLowerCase(Locale.ROOT).startsWith(genericNamePrefix)) {
+                return false;
+            }
+        }
+
+        if (isFloating != null && isFloating != component.isFloating()) {
+            return false;
+        }
+
+        if (isVariance != null && isVariance != (component.getParent() != null)) {
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,218 @@
+package io.configwise.sdk.cwflutter;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.parse.boltsinternal.Task;
+import io.configwise.sdk.domain.ComponentEntity;
+import io.flutter.plugin.common.EventChannel;
+
+/**
+ * Warms up component entities and their thumbnails before they are requested by Flutter.
+ *
+ * Every prefetch job resolves its components (through {@link ComponentCache}), then downloads
+ * their thumbnails through {@link DownloadScheduler} with the priority of the job (so prefetching
+ * doesn't delay interactive downloads). Aggregated progress of every job is emitted to
+ * the 'cwflutter/prefetch' event channel.
+ *
+ * NOTICE: 3D model files aren't prefetched - they are resolved and downloaded by ArAdapter inside
+ * ConfigWise SDK, which doesn't expose their keys. Placing a model in AR still waits for its download
+ * (only resolving of the component is skipped).
+ *
+ * NOTICE: All methods must be invoked from main UI thread.
+ */
+class ComponentPrefetcher implements EventChannel.StreamHandler {
+
+    private static final String TAG = ComponentPrefetcher.class.getSimpleName();
+
+    private static class Job {
+
+        final int id;
+
+        final int priority;
+
+        int total = 0;
+
+        int completed = 0;
+
+        int failed = 0;
+
+        boolean resolved = false;
+
+        boolean cancelled = false;
+
+        // Keys of files which are still downloading.
+        final Set<String> pendingFileKeys = new HashSet<>();
+
+        Job(int id, int priority) {
+            this.id = id;
+            this.priority = priority;
+        }
+
+        boolean isDone() {
+            return cancelled || (resolved && completed + failed >= total);
+        }
+    }
+
+    private final Map<Integer, Job> jobs = new HashMap<>();
+
+    private int nextJobId = 1;
+
+    @Nullable
+    private EventChannel.EventSink events;
+
+    // MARK: - EventChannel.StreamHandler
+
+    @Override
+    public void onListen(Object arguments, EventChannel.EventSink events) {
+        this.events = events;
+    }
+
+    @Override
+    public void onCancel(Object arguments) {
+        this.events = null;
+    }
+
+    // MARK: - Jobs
+
+    /**
+     * Starts prefetching of given components and returns id of the prefetch job
+     * (use it to cancel the job or to match progress events).
+     */
+    int prefetch(@NonNull List<String> componentIds, int priority) {
+        Utils.checkOnMainThread();
+
+        final Job job = new Job(nextJobId++, priority);
+        jobs.put(job.id, job);
+
+        final List<Task<ComponentCache.Entry>> tasks = new ArrayList<>();
+        for (String componentId : componentIds) {
+            if (componentId != null && !componentId.isEmpty()) {
+                tasks.add(ComponentCache.getInstance().obtainComponentById(componentId));
+            }
+        }
+
+        Task.whenAll(tasks).continueWith(whenAllTask -> {
+            if (job.cancelled) {
+                return null;
+            }
+
+            // Unique file keys, so shared files are downloaded once per job.
+            final Set<String> fileKeys = new LinkedHashSet<>();
+            for (Task<ComponentCache.Entry> task : tasks) {
+                final ComponentCache.Entry entry = task.isFaulted() || task.isCancelled() ? null : task.getResult();
+                if (entry == null) {
+                    // Unable to resolve component - count it as a failed item.
+                    job.total++;
+                    job.failed++;
+                    continue;
+                }
+
+                fileKeys.addAll(resolveFileKeys(entry.component));
+            }
+
+            job.total += fileKeys.size();
+            job.pendingFileKeys.addAll(fileKeys);
+            job.resolved = true;
+            emitProgress(job);
+
+            for (String fileKey : fileKeys) {
+                download(job, fileKey);
+            }
+            return null;
+        }, Task.UI_THREAD_EXECUTOR);
+
+        emitProgress(job);
+        return job.id;
+    }
+
+    void cancel(int jobId) {
+        Utils.checkOnMainThread();
+
+        final Job job = jobs.get(jobId);
+        if (job == null || job.isDone()) {
+            return;
+        }
+
+        job.cancelled = true;
+
+        for (String fileKey : job.pendingFileKeys) {
+            DownloadScheduler.getInstance().release(fileKey);
+        }
+        job.pendingFileKeys.clear();
+
+        emitProgress(job);
+    }
+
+    void cancelAll() {
+        Utils.checkOnMainThread();
+
+        for (Integer jobId : new ArrayList<>(jobs.keySet())) {
+            cancel(jobId);
+        }
+    }
+
+    /**
+     * Returns keys of files to warm up for the component (thumbnail only, see class doc).
+     */
+    @NonNull
+    private static List<String> resolveFileKeys(@NonNull ComponentEntity component) {
+        final List<String> result = new ArrayList<>();
+
+        final String thumbnailFileKey = component.getThumbnailFilePath();
+        if (thumbnailFileKey != null && !thumbnailFileKey.isEmpty()) {
+            result.add(thumbnailFileKey);
+        }
+
+        return result;
+    }
+
+    private void download(@NonNull Job job, @NonNull String fileKey) {
+        DownloadScheduler.getInstance().download(fileKey, job.priority).continueWith(task -> {
+            if (job.cancelled || !job.pendingFileKeys.remove(fileKey)) {
+                return null;
+            }
+
+            if (task.isFaulted() || task.isCancelled()) {
+                Log.e(TAG, "Unable to prefetch '" + fileKey + "' due error", task.getError());
+                job.failed++;
+            } else {
+                job.completed++;
+            }
+
+            emitProgress(job);
+            return null;
+        }, Task.UI_THREAD_EXECUTOR);
+    }
+
+    private void emitProgress(@NonNull Job job) {
+        if (job.isDone()) {
+            jobs.remove(job.id);
+        }
+
+        if (events == null) {
+            return;
+        }
+
+        final Map<String, Object> progress = new HashMap<>();
+        progress.put("prefetchId", job.id);
+        progress.put("total", job.total);
+        progress.put("completed", job.completed);
+        progress.put("failed", job.failed);
+        progress.put("isResolved", job.resolved);
+        progress.put("isCancelled", job.cancelled);
+        progress.put("isDone", job.isDone());
+
+        events.success(progress);
+    }
+}
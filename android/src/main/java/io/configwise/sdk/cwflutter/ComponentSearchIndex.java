@@ -0,0 +1,273 @@
+package io.configwise.sdk.cwflutter;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.parse.boltsinternal.Task;
+import io.configwise.sdk.domain.ComponentEntity;
+import io.configwise.sdk.services.ComponentService;
+
+/**
+ * In-memory inverted index over genericName, productNumber and description of components
+ * of the current catalog. Only component ids and postings are kept - hits are resolved
+ * through {@link ComponentCache}.
+ *
+ * The index is built lazily (by the first search, see {@link #build()}) in background, the catalog
+ * is paged through in chunks of {@link #BUILD_CHUNK_SIZE}. Once built (or building) the index is
+ * updated incrementally by components which pass through the plugin (see {@link #add(ComponentEntity)}).
+ * Every query token must match (exactly or as a prefix of an indexed token), results are
+ * ranked by the sum of field weights of matched tokens.
+ */
+class ComponentSearchIndex {
+
+    private static final String TAG = ComponentSearchIndex.class.getSimpleName();
+
+    private static final float GENERIC_NAME_WEIGHT = 3f;
+    private static final float PRODUCT_NUMBER_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    // Factor of the score if the query token matches a prefix of the indexed token only.
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+    private static final int BUILD_CHUNK_SIZE = 200;
+
+    static class Hit {
+
+        @NonNull
+        final String componentId;
+
+        final float score;
+
+        Hit(@NonNull String componentId, float score) {
+            this.componentId = componentId;
+            this.score = score;
+        }
+    }
+
+    @Nullable
+    private static ComponentSearchIndex instance;
+
+    @NonNull
+    static synchronized ComponentSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new ComponentSearchIndex();
+        }
+        return instance;
+    }
+
+    // token -> (component id -> score). Sorted, so prefix lookup is a range scan.
+    private final TreeMap<String, Map<String, Float>> postings = new TreeMap<>();
+
+    // component id -> indexed tokens (to remove stale postings on update)
+    private final Map<String, List<String>> tokensByComponentId = new HashMap<>();
+
+    @Nullable
+    private Task<Void> buildTask;
+
+    // Incremented by clear(), so chunks of a build started before are dropped.
+    private int generation = 0;
+
+    private ComponentSearchIndex() {
+    }
+
+    /**
+     * Builds the index from all components of the current catalog (once, until cleared).
+     */
+    @NonNull
+    synchronized Task<Void> build() {
+        if (buildTask != null && !buildTask.isFaulted() && !buildTask.isCancelled()) {
+            return buildTask;
+        }
+
+        buildTask = buildChunk(generation, 0);
+        return buildTask;
+    }
+
+    @NonNull
+    private Task<Void> buildChunk(final int buildGeneration, final int offset) {
+        return ComponentService.getInstance().obtainAllComponentsByCurrentCatalog(offset, BUILD_CHUNK_SIZE)
+                .onSuccessTask(task -> {
+                    final List<ComponentEntity> entities = task.getResult();
+                    final int count = entities != null ? entities.size() : 0;
+
+                    synchronized (this) {
+                        if (buildGeneration != generation) {
+                            // Cleared meanwhile (eg: sign out) - the chunk belongs to the previous catalog.
+                            return Task.cancelled();
+                        }
+
+                        for (int i = 0; i < count; i++) {
+                            index(entities.get(i));
+                        }
+                    }
+
+                    if (count < BUILD_CHUNK_SIZE) {
+                        Log.d(TAG, "Search index is built (" + size() + " components)");
+                        return Task.forResult(null);
+                    }
+                    return buildChunk(buildGeneration, offset + count);
+                }, Utils.SERIALIZATION_EXECUTOR);
+    }
+
+    /**
+     * Updates the component in the index (ignored if the index isn't built, nor building).
+     */
+    synchronized void add(@NonNull ComponentEntity component) {
+        if (buildTask == null) {
+            return;
+        }
+        index(component);
+    }
+
+    private void index(@NonNull ComponentEntity component) {
+        final String componentId = component.getObjectId();
+        if (componentId == null) {
+            return;
+        }
+
+        remove(componentId);
+
+        final Map<String, Float> scores = new HashMap<>();
+        addTokens(scores, component.getGenericName(), GENERIC_NAME_WEIGHT);
+        addTokens(scores, component.getProductNumber(), PRODUCT_NUMBER_WEIGHT);
+        addTokens(scores, component.getDescription(), DESCRIPTION_WEIGHT);
+
+        for (Map.Entry<String, Float> it : scores.entrySet()) {
+            Map<String, Float> tokenPostings = postings.get(it.getKey());
+            if (tokenPostings == null) {
+                tokenPostings = new HashMap<>();
+                postings.put(it.getKey(), tokenPostings);
+            }
+            tokenPostings.put(componentId, it.getValue());
+        }
+
+        tokensByComponentId.put(componentId, new ArrayList<>(scores.keySet()));
+    }
+
+    synchronized void remove(@NonNull String componentId) {
+        final List<String> tokens = tokensByComponentId.remove(componentId);
+        if (tokens == null) {
+            return;
+        }
+
+        for (String token : tokens) {
+            final Map<String, Float> tokenPostings = postings.get(token);
+            if (tokenPostings != null) {
+                tokenPostings.remove(componentId);
+                if (tokenPostings.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    synchronized void clear() {
+        postings.clear();
+        tokensByComponentId.clear();
+        buildTask = null;
+        generation++;
+    }
+
+    synchronized int size() {
+        return tokensByComponentId.size();
+    }
+
+    @NonNull
+    synchronized List<Hit> search(@NonNull String query, int limit) {
+        final List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Float> totalScores = null;
+        for (String queryToken : queryTokens) {
+            final Map<String, Float> tokenScores = new HashMap<>();
+
+            final SortedMap<String, Map<String, Float>> matches = postings.subMap(queryToken, queryToken + Character.MAX_VALUE);
+            for (Map.Entry<String, Map<String, Float>> match : matches.entrySet()) {
+                final float factor = match.getKey().equals(queryToken) ? 1f : PREFIX_MATCH_FACTOR;
+                for (Map.Entry<String, Float> posting : match.getValue().entrySet()) {
+                    final float score = posting.getValue() * factor;
+                    final Float existing = tokenScores.get(posting.getKey());
+                    if (existing == null || existing < score) {
+                        tokenScores.put(posting.getKey(), score);
+                    }
+                }
+            }
+
+            if (totalScores == null) {
+                totalScores = tokenScores;
+            } else {
+                // Every query token must match.
+                final Map<String, Float> intersection = new HashMap<>();
+                for (Map.Entry<String, Float> it : totalScores.entrySet()) {
+                    final Float score = tokenScores.get(it.getKey());
+                    if (score != null) {
+                        intersection.put(it.getKey(), it.getValue() + score);
+                    }
+                }
+                totalScores = intersection;
+            }
+
+            if (totalScores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        final List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<String, Float> it : totalScores.entrySet()) {
+            hits.add(new Hit(it.getKey(), it.getValue()));
+        }
+
+        Collections.sort(hits, (a, b) -> {
+            if (a.score != b.score) {
+                return Float.compare(b.score, a.score);
+            }
+            // Stable order of equally ranked hits.
+            return a.componentId.compareTo(b.componentId);
+        });
+
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    private static void addTokens(@NonNull Map<String, Float> scores, @Nullable String text, float weight) {
+        for (String token : tokenize(text)) {
+            final Float existing = scores.get(token);
+            scores.put(token, existing != null ? existing + weight : weight);
+        }
+    }
+
+    @NonNull
+    private static List<String> tokenize(@Nullable String text) {
+        final List<String> result = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return result;
+        }
+
+        final String lowerCased = text.toLowerCase(Locale.ROOT);
+
+        int start = -1;
+        for (int i = 0; i <= lowerCased.length(); i++) {
+            final boolean isTokenChar = i < lowerCased.length() && Character.isLetterOrDigit(lowerCased.charAt(i));
+            if (isTokenChar && start < 0) {
+                start = i;
+            } else if (!isTokenChar && start >= 0) {
+                result.add(lowerCased.substring(start, i));
+                start = -1;
+            }
+        }
+
+        return result;
+    }
+}
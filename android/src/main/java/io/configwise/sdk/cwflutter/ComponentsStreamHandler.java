@@ -0,0 +1,141 @@
+package io.configwise.sdk.cwflutter;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.parse.boltsinternal.Task;
+import io.configwise.sdk.domain.ComponentEntity;
+import io.configwise.sdk.services.ComponentService;
+import io.flutter.plugin.common.EventChannel;
+
+/**
+ * Streams components of the current catalog to Flutter in bounded chunks.
+ *
+ * Each chunk is requested from {@link ComponentService} (and serialized on
+ * {@link Utils#SERIALIZATION_EXECUTOR}) only after the previous one has been delivered to
+ * the event sink, so no more than one chunk is held in memory at a time.
+ * Every emitted chunk carries the cursor to resume from, so Flutter can restart the stream
+ * from where it stopped.
+ */
+class ComponentsStreamHandler implements EventChannel.StreamHandler {
+
+    private static final String TAG = ComponentsStreamHandler.class.getSimpleName();
+
+    static final int DEFAULT_CHUNK_SIZE = 100;
+
+    // Incremented on every listen / cancel, so pending chunks of a previous stream are dropped.
+    private int generation = 0;
+
+    // MARK: - EventChannel.StreamHandler
+
+    @Override
+    public void onListen(Object arguments, EventChannel.EventSink events) {
+        final Map<String, ?> args = arguments instanceof Map
+                ? (Map<String, ?>) arguments
+                : new HashMap<>();
+
+        Integer cursor = (Integer) args.get("cursor");
+        if (cursor == null || cursor < 0) {
+            cursor = 0;
+        }
+
+        Integer chunkSize = (Integer) args.get("chunkSize");
+        if (chunkSize == null || chunkSize <= 0) {
+            chunkSize = DEFAULT_CHUNK_SIZE;
+        }
+
+        generation++;
+        obtainChunk(generation, cursor, chunkSize, events);
+    }
+
+    @Override
+    public void onCancel(Object arguments) {
+        generation++;
+    }
+
+    // MARK: - Chunks
+
+    private void obtainChunk(
+            final int chunkGeneration,
+            final int cursor,
+            final int chunkSize,
+            @NonNull EventChannel.EventSink events
+    ) {
+        ComponentService.getInstance().obtainAllComponentsByCurrentCatalog(cursor, chunkSize)
+                .onSuccess(task -> {
+                    final List<ComponentEntity> entities = task.getResult();
+                    final int count = entities != null ? entities.size() : 0;
+                    final boolean isLast = count < chunkSize;
+
+                    return serializeChunk(entities, cursor, cursor + count, isLast);
+                }, Utils.SERIALIZATION_EXECUTOR)
+                .continueWith(task -> {
+                    if (chunkGeneration != generation) {
+                        // Stream has been canceled (or restarted) meanwhile.
+                        return null;
+                    }
+
+                    if (task.isCancelled()) {
+                        String message = "Unable to obtain components due invocation task is canceled.";
+                        Log.e(TAG, message);
+                        events.error(
+                                CwflutterPlugin.INTERNAL_ERROR,
+                                message,
+                                null
+                        );
+                        return null;
+                    }
+
+                    if (task.isFaulted()) {
+                        Exception e = task.getError();
+                        Log.e(TAG, "Unable to obtain components due error", e);
+                        events.error(
+                                CwflutterPlugin.INTERNAL_ERROR,
+                                e.getMessage(),
+                                null
+                        );
+                        return null;
+                    }
+
+                    final Map<String, Object> chunk = task.getResult();
+                    events.success(chunk);
+
+                    if ((Boolean) chunk.get("isLast")) {
+                        events.endOfStream();
+                    } else {
+                        obtainChunk(chunkGeneration, (Integer) chunk.get("nextCursor"), chunkSize, events);
+                    }
+                    return null;
+                }, Task.UI_THREAD_EXECUTOR);
+    }
+
+    private static Map<String, Object> serializeChunk(
+            @Nullable List<ComponentEntity> entities,
+            int cursor,
+            int nextCursor,
+            boolean isLast
+    ) {
+        final List<Map<String, ?>> items = new ArrayList<>();
+        if (entities != null) {
+            for (ComponentEntity it : entities) {
+                items.add(Utils.serializeComponentEntity(it));
+                ComponentSearchIndex.getInstance().add(it);
+            }
+        }
+
+        final Map<String, Object> result = new HashMap<>();
+        result.put("cursor", cursor);
+        result.put("nextCursor", nextCursor);
+        result.put("isLast", isLast);
+        result.put("items", items);
+
+        return result;
+    }
+}
@@ -19,15 +19,21 @@ import com.google.ar.sceneform.AnchorNode;
 import com.google.ar.sceneform.ArSceneView;
 import com.google.ar.sceneform.math.Vector3;
 
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
 
 import com.parse.boltsinternal.Task;
+import com.parse.boltsinternal.TaskCompletionSource;
 import io.configwise.sdk.ar.ArAdapter;
 import io.configwise.sdk.ar.ComponentModelNode;
 import io.configwise.sdk.domain.ComponentEntity;
-import io.configwise.sdk.services.ComponentService;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
@@ -46,6 +52,10 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
     @NonNull
     private MethodChannel channel;
 
+    // Events of AR session are sent to Flutter once per frame (see MethodCallBatcher).
+    @NonNull
+    private MethodCallBatcher methodCallBatcher;
+
     @Nullable
     private ArSceneView arSceneView;
 
@@ -54,6 +64,63 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
 
     private boolean firstPlaneDetected = false;
 
+    // Models of the scene by model id (maintained on main UI thread by ArAdapter.Delegate callbacks).
+    private final Map<String, ComponentModelNode> modelsById = new HashMap<>();
+
+    // Light estimation state to restore once memory pressure goes down (null if not reduced).
+    @Nullable
+    private Boolean reducedLightEstimationEnabled;
+
+    @Nullable
+    private PlaneAnchorPool planeAnchorPool;
+
+    private int maxPlaneAnchors = PlaneAnchorPool.DEFAULT_MAX_ANCHORS;
+
+    // Opt-in (see 'setTelemetryEnabled' method)
+    @Nullable
+    private ArTelemetry telemetry;
+
+    @NonNull
+    private final MemoryPressureMonitor.Listener memoryPressureListener = this::onMemoryPressureLevelChanged;
+
+    // Add requests which aren't loaded within this time are failed (the model stays in the scene if it's loaded later).
+    private static final long MODEL_LOADING_TIMEOUT_MILLIS = 2 * 60 * 1000;
+
+    private static class PendingModel {
+
+        @NonNull
+        final String componentId;
+
+        // Transform of the imported model (null if the model is added by position only).
+        @Nullable
+        final SceneSnapshot.Model transform;
+
+        // Result is the model id.
+        @NonNull
+        final TaskCompletionSource<String> completionSource = new TaskCompletionSource<>();
+
+        @Nullable
+        Runnable timeoutRunnable;
+
+        PendingModel(@NonNull String componentId, @Nullable SceneSnapshot.Model transform) {
+            this.componentId = componentId;
+            this.transform = transform;
+        }
+    }
+
+    // Add requests waiting for ArAdapter to load their models by id of the model node created for the request.
+    private final Map<String, PendingModel> pendingModelsById = new HashMap<>();
+
+    // Add requests whose model node isn't known yet (by component id, in order of requests) - ArAdapter
+    // can report a failure before the node appears in the scene.
+    private final Map<String, ArrayDeque<PendingModel>> unboundPendingModels = new HashMap<>();
+
+    // The throttler flushes on a frame already, so the batch isn't queued till one more frame by the batcher.
+    @NonNull
+    private final ModelLoadingProgressThrottler modelLoadingProgressThrottler = new ModelLoadingProgressThrottler(
+            batch -> methodCallBatcher.invokeMethodNow("onModelLoadingProgressBatch", batch)
+    );
+
     @NonNull
     private final Application.ActivityLifecycleCallbacks activityLifecycleCallback = new Application.ActivityLifecycleCallbacks() {
         @Override
@@ -90,24 +157,47 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
     };
 
     public CwflutterArView(@NonNull Activity activity, @NonNull Context context, @NonNull BinaryMessenger messenger, int viewId) {
+        this(activity, context, messenger, viewId, null);
+    }
+
+    /**
+     * @param prewarmed pre-built ArSceneView and ArAdapter (see ArScenePool), they are built here if null.
+     */
+    public CwflutterArView(
+            @NonNull Activity activity,
+            @NonNull Context context,
+            @NonNull BinaryMessenger messenger,
+            int viewId,
+            @Nullable ArScenePool.Prewarmed prewarmed
+    ) {
         this.activity = activity;
         this.context = context;
 
         channel = new MethodChannel(messenger, CwflutterPlugin.VIEW_FACTORY_ID + "_" + viewId);
         channel.setMethodCallHandler(this);
 
-        arSceneView = new ArSceneView(context);
-
-        // Setup ArAdapter
-        arAdapter = new ArAdapter(
-                activity,
-                context,
-                arSceneView,
-                null
-        );
+        methodCallBatcher = new MethodCallBatcher(channel);
+
+        if (prewarmed != null) {
+            arSceneView = prewarmed.arSceneView;
+            arAdapter = prewarmed.arAdapter;
+        } else {
+            arSceneView = new ArSceneView(context);
+
+            // Setup ArAdapter
+            arAdapter = new ArAdapter(
+                    activity,
+                    context,
+                    arSceneView,
+                    null
+            );
+        }
         arAdapter.setDelegate(this);
 
         activity.getApplication().registerActivityLifecycleCallbacks(activityLifecycleCallback);
+
+        MemoryPressureMonitor.getInstance().addListener(memoryPressureListener);
+        onMemoryPressureLevelChanged(MemoryPressureMonitor.getInstance().getLevel());
     }
 
     // MARK: - PlatformView
@@ -119,6 +209,9 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
 
     @Override
     public void dispose() {
+        modelLoadingProgressThrottler.clear();
+        methodCallBatcher.dispose();
+        MemoryPressureMonitor.getInstance().removeListener(memoryPressureListener);
         destroyArSession();
         activity.getApplication().unregisterActivityLifecycleCallbacks(activityLifecycleCallback);
     }
@@ -126,9 +219,12 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
     // MARK: - MethodCallHandler
 
     @Override
-    public void onMethodCall(@NonNull MethodCall call, @NonNull MethodChannel.Result result) {
+    public void onMethodCall(@NonNull MethodCall call, @NonNull MethodChannel.Result rawResult) {
         final Map<String, ?> args = call.arguments();
 
+        final PerformanceMonitor.Trace trace = PerformanceMonitor.getInstance().startTrace("ar." + call.method);
+        final MethodChannel.Result result = trace.wrap(rawResult);
+
         if (call.method.equals("init")) {
             startArSession();
             result.success(null);
@@ -153,6 +249,10 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
         }
 
         else if (call.method.equals("addModel")) {
+            if (isRefusingModels(result)) {
+                return;
+            }
+
             String componentId = (String) args.get("componentId");
             if (componentId == null || componentId.isEmpty()) {
                 result.error(
@@ -169,7 +269,7 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
                 worldPosition = Utils.deserialize(argWorldPosition);
             }
 
-            addModel(componentId, worldPosition).continueWith(task -> {
+            trace.ready(addModel(componentId, worldPosition)).continueWith(task -> {
                 if (task.isCancelled()) {
                     result.error(
                             CwflutterPlugin.INTERNAL_ERROR,
@@ -220,11 +320,206 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
                 );
                 return;
             }
-            for(ComponentModelNode model : arAdapter.getComponentModels()) {
-                if (modelId.equals(model.getId())) {
-                    arAdapter.removeComponentModel(model);
+            removeModel(modelId);
+            result.success(null);
+        }
+
+        else if (call.method.equals("addModels")) {
+            if (isRefusingModels(result)) {
+                return;
+            }
+
+            final List<Map<String, ?>> argModels = (List<Map<String, ?>>) args.get("models");
+            if (argModels == null) {
+                result.error(
+                        CwflutterPlugin.BAD_REQUEST,
+                        "'models' parameter must not be null.",
+                        null
+                );
+                return;
+            }
+
+            final List<String> componentIds = new ArrayList<>();
+            final List<Vector3> worldPositions = new ArrayList<>();
+            for (Map<String, ?> argModel : argModels) {
+                componentIds.add((String) argModel.get("componentId"));
+
+                final List<Double> argWorldPosition = (List<Double>) argModel.get("worldPosition");
+                worldPositions.add(argWorldPosition != null && !argWorldPosition.isEmpty()
+                        ? Utils.deserialize(argWorldPosition)
+                        : null
+                );
+            }
+
+            trace.ready(addModels(componentIds, worldPositions, null)).continueWith(task -> {
+                if (task.isCancelled()) {
+                    result.error(
+                            CwflutterPlugin.INTERNAL_ERROR,
+                            "Unable to add models due invocation task is canceled.",
+                            null
+                    );
+                    return null;
                 }
+
+                if (task.isFaulted()) {
+                    Exception e = task.getError();
+                    result.error(
+                            CwflutterPlugin.INTERNAL_ERROR,
+                            e.getMessage(),
+                            null
+                    );
+                    return null;
+                }
+
+                result.success(task.getResult());
+                return null;
+            }, Task.UI_THREAD_EXECUTOR);
+        }
+
+        else if (call.method.equals("removeModels")) {
+            final List<String> modelIds = (List<String>) args.get("modelIds");
+            if (modelIds == null) {
+                result.error(
+                        CwflutterPlugin.BAD_REQUEST,
+                        "'modelIds' parameter must not be null.",
+                        null
+                );
+                return;
+            }
+
+            int removed = 0;
+            for (String modelId : modelIds) {
+                if (modelId != null && removeModel(modelId)) {
+                    removed++;
+                }
+            }
+            result.success(removed);
+        }
+
+        else if (call.method.equals("exportScene")) {
+            String name = (String) args.get("name");
+            if (name == null || !SceneSnapshot.isValidName(name)) {
+                result.error(
+                        CwflutterPlugin.BAD_REQUEST,
+                        "'name' parameter must consist of 1-64 latin letters, digits, '_' or '-'.",
+                        null
+                );
+                return;
+            }
+
+            trace.ready(exportScene(name)).continueWith(task -> {
+                if (task.isCancelled()) {
+                    result.error(
+                            CwflutterPlugin.INTERNAL_ERROR,
+                            "Unable to export scene due invocation task is canceled.",
+                            null
+                    );
+                    return null;
+                }
+
+                if (task.isFaulted()) {
+                    Exception e = task.getError();
+                    Log.e(TAG, "Unable to export scene due error", e);
+                    result.error(
+                            CwflutterPlugin.INTERNAL_ERROR,
+                            e.getMessage(),
+                            null
+                    );
+                    return null;
+                }
+
+                result.success(task.getResult());
+                return null;
+            }, Task.UI_THREAD_EXECUTOR);
+        }
+
+        else if (call.method.equals("importScene")) {
+            if (isRefusingModels(result)) {
+                return;
+            }
+
+            String name = (String) args.get("name");
+            if (name == null || !SceneSnapshot.isValidName(name)) {
+                result.error(
+                        CwflutterPlugin.BAD_REQUEST,
+                        "'name' parameter must consist of 1-64 latin letters, digits, '_' or '-'.",
+                        null
+                );
+                return;
+            }
+
+            final File file = SceneSnapshot.fileOf(context, name);
+            if (!file.exists()) {
+                result.error(
+                        CwflutterPlugin.NOT_FOUND,
+                        "Scene '" + name + "' not found.",
+                        null
+                );
+                return;
+            }
+
+            trace.ready(importScene(file)).continueWith(task -> {
+                if (task.isCancelled()) {
+                    result.error(
+                            CwflutterPlugin.INTERNAL_ERROR,
+                            "Unable to import scene due invocation task is canceled.",
+                            null
+                    );
+                    return null;
+                }
+
+                if (task.isFaulted()) {
+                    Exception e = task.getError();
+                    Log.e(TAG, "Unable to import scene due error", e);
+                    result.error(
+                            CwflutterPlugin.INTERNAL_ERROR,
+                            e.getMessage(),
+                            null
+                    );
+                    return null;
+                }
+
+                result.success(task.getResult());
+                return null;
+            }, Task.UI_THREAD_EXECUTOR);
+        }
+
+        else if (call.method.equals("setMaxPlaneAnchors")) {
+            Integer max = (Integer) args.get("max");
+            if (max == null || max < 1) {
+                result.error(
+                        CwflutterPlugin.BAD_REQUEST,
+                        "'max' parameter must be positive.",
+                        null
+                );
+                return;
+            }
+
+            maxPlaneAnchors = max;
+            if (planeAnchorPool != null) {
+                planeAnchorPool.setMaxAnchors(max);
+            }
+            result.success(null);
+        }
+
+        else if (call.method.equals("setTelemetryEnabled")) {
+            Boolean enabled = (Boolean) args.get("enabled");
+            Integer intervalMillis = (Integer) args.get("intervalMillis");
+
+            setTelemetryEnabled(
+                    enabled != null && enabled,
+                    intervalMillis != null ? intervalMillis : ArTelemetry.DEFAULT_INTERVAL_MILLIS
+            );
+            result.success(null);
+        }
+
+        else if (call.method.equals("setModelLoadingProgressThrottling")) {
+            Integer maxEventsPerSecond = (Integer) args.get("maxEventsPerSecond");
+            if (maxEventsPerSecond == null) {
+                maxEventsPerSecond = ModelLoadingProgressThrottler.DEFAULT_MAX_EVENTS_PER_SECOND;
             }
+
+            modelLoadingProgressThrottler.setMaxEventsPerSecond(maxEventsPerSecond);
             result.success(null);
         }
 
@@ -251,53 +546,374 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
     // MARK: - Models
 
     private Task<Boolean> addModel(@NonNull String componentId, @Nullable Vector3 worldPosition) {
-        return ComponentService.getInstance().obtainComponentById(componentId)
-                .onSuccessTask(task -> {
-                    final ComponentEntity component = task.getResult();
-                    if (component == null) {
-                        return Task.forResult(false);
-                    }
-                    if (arAdapter == null) {
-                        return Task.forResult(false);
-                    }
+        return ComponentCache.getInstance().obtainComponentById(componentId)
+                .onSuccess(task -> {
+                    final ComponentCache.Entry entry = task.getResult();
+                    return entry != null && addComponentModel(entry.component, worldPosition, null) != null;
+                }, Task.UI_THREAD_EXECUTOR);
+    }
 
-                    arAdapter.addComponentModel(
-                            component,
-                            null,
-                            worldPosition,
-                            null,
+    /**
+     * Resolves components concurrently, then adds models of all resolved components in one pass
+     * (models are loaded by ArAdapter concurrently). Completes once all models are loaded (or failed).
+     * Result list keeps order of given ids - every item contains 'componentId', 'modelId', 'isAdded'
+     * and 'error' (null if added successfully) fields.
+     *
+     * Transforms (if given) are applied to the models of their add requests once they are loaded.
+     */
+    private Task<List<Map<String, ?>>> addModels(
+            @NonNull List<String> componentIds,
+            @NonNull List<Vector3> worldPositions,
+            @Nullable List<SceneSnapshot.Model> transforms
+    ) {
+        final List<Task<ComponentCache.Entry>> tasks = new ArrayList<>();
+        for (String componentId : componentIds) {
+            tasks.add(componentId != null && !componentId.isEmpty()
+                    ? ComponentCache.getInstance().obtainComponentById(componentId)
+                    : Task.<ComponentCache.Entry>forError(new IllegalArgumentException("Component id must not be blank."))
+            );
+        }
+
+        // NOTICE: whenAll() completes once all tasks are completed (even if some of them are faulted),
+        // so we inspect every task separately here.
+        return Task.whenAll(tasks).continueWithTask(whenAllTask -> {
+            final List<Task<Map<String, ?>>> itemTasks = new ArrayList<>();
+
+            for (int i = 0; i < tasks.size(); i++) {
+                final Task<ComponentCache.Entry> task = tasks.get(i);
+                final String componentId = componentIds.get(i);
+
+                if (task.isFaulted() || task.isCancelled()) {
+                    itemTasks.add(Task.forResult(addModelResult(componentId, null, errorMessageOf(task))));
+                    continue;
+                }
+
+                final ComponentCache.Entry entry = task.getResult();
+                final Task<String> loadTask = entry != null
+                        ? addComponentModel(entry.component, worldPositions.get(i), transforms != null ? transforms.get(i) : null)
+                        : null;
+                if (loadTask == null) {
+                    itemTasks.add(Task.forResult(addModelResult(
+                            componentId,
                             null,
-                            true
-                    );
+                            "Unable to add model of '" + componentId + "' component."
+                    )));
+                    continue;
+                }
+
+                itemTasks.add(loadTask.continueWith(it -> it.isFaulted() || it.isCancelled()
+                        ? addModelResult(componentId, null, errorMessageOf(it))
+                        : addModelResult(componentId, it.getResult(), null)
+                ));
+            }
+
+            return Task.whenAll(itemTasks).continueWith(it -> {
+                final List<Map<String, ?>> result = new ArrayList<>();
+                for (Task<Map<String, ?>> itemTask : itemTasks) {
+                    result.add(itemTask.getResult());
+                }
+                return result;
+            }, Task.UI_THREAD_EXECUTOR);
+        }, Task.UI_THREAD_EXECUTOR);
+    }
+
+    @NonNull
+    private static Map<String, ?> addModelResult(@Nullable String componentId, @Nullable String modelId, @Nullable String error) {
+        final Map<String, Object> result = new HashMap<>();
+        result.put("componentId", componentId);
+        result.put("modelId", modelId);
+        result.put("isAdded", modelId != null);
+        result.put("error", error);
+        return result;
+    }
 
-                    return Task.forResult(true);
+    @NonNull
+    private static String errorMessageOf(@NonNull Task<?> task) {
+        final Exception e = task.getError();
+        return e != null && e.getMessage() != null
+                ? e.getMessage()
+                : "Invocation task is canceled.";
+    }
+
+    /**
+     * Writes component ids and world transforms of all models of the scene to the snapshot file.
+     * Returns number of exported models.
+     */
+    private Task<Integer> exportScene(@NonNull String name) {
+        if (arAdapter == null) {
+            return Task.forError(new IllegalStateException("AR session is destroyed."));
+        }
+
+        final List<SceneSnapshot.Model> models = new ArrayList<>();
+        for (ComponentModelNode it : arAdapter.getComponentModels()) {
+            final ComponentEntity component = it.getComponent();
+            if (component == null || component.getObjectId() == null) {
+                continue;
+            }
+
+            models.add(new SceneSnapshot.Model(
+                    component.getObjectId(),
+                    it.getWorldPosition(),
+                    it.getWorldRotation(),
+                    it.getWorldScale()
+            ));
+        }
+
+        final File file = SceneSnapshot.fileOf(context, name);
+        return Task.call(() -> {
+            SceneSnapshot.write(file, models);
+            return models.size();
+        }, Utils.IO_EXECUTOR);
+    }
+
+    /**
+     * Reads the snapshot file and adds all its models in one pass (see addModels()).
+     * Rotation and scale of every model are applied once the model is loaded.
+     *
+     * NOTICE: Components are resolved concurrently and all models are requested at once, so ArAdapter loads
+     * them in parallel. Model files can't be prefetched by the plugin (they are downloaded by ConfigWise SDK).
+     */
+    private Task<List<Map<String, ?>>> importScene(@NonNull File file) {
+        return Task.call(() -> SceneSnapshot.read(file), Utils.IO_EXECUTOR)
+                .onSuccessTask(task -> {
+                    final List<SceneSnapshot.Model> models = task.getResult();
+
+                    final List<String> componentIds = new ArrayList<>();
+                    final List<Vector3> worldPositions = new ArrayList<>();
+                    for (SceneSnapshot.Model it : models) {
+                        componentIds.add(it.componentId);
+                        worldPositions.add(it.position);
+                    }
+
+                    return addModels(componentIds, worldPositions, models);
                 }, Task.UI_THREAD_EXECUTOR);
     }
 
+    /**
+     * Requests ArAdapter to add the model. Returns task of the model id which completes once the model
+     * is loaded (null if AR session is destroyed), fails if loading fails or takes longer than
+     * MODEL_LOADING_TIMEOUT_MILLIS.
+     *
+     * The request is bound to the model node which ArAdapter creates for it (the node is in the scene
+     * while the model is loading), so results are matched by model id, not by order of callbacks.
+     */
+    @Nullable
+    private Task<String> addComponentModel(
+            @NonNull ComponentEntity component,
+            @Nullable Vector3 worldPosition,
+            @Nullable SceneSnapshot.Model transform
+    ) {
+        final String componentId = component.getObjectId();
+        if (arAdapter == null || componentId == null) {
+            return null;
+        }
+
+        final Set<String> existingModelIds = new HashSet<>();
+        for (ComponentModelNode it : arAdapter.getComponentModels()) {
+            existingModelIds.add(it.getId());
+        }
+
+        // Registered before the call, ArAdapter can report a failure synchronously.
+        final PendingModel pendingModel = new PendingModel(componentId, transform);
+        ArrayDeque<PendingModel> queue = unboundPendingModels.get(componentId);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            unboundPendingModels.put(componentId, queue);
+        }
+        queue.add(pendingModel);
+
+        arAdapter.addComponentModel(
+                component,
+                null,
+                worldPosition,
+                null,
+                null,
+                true
+        );
+
+        final Task<String> task = pendingModel.completionSource.getTask();
+        if (task.isCompleted()) {
+            return task;
+        }
+
+        if (arAdapter != null) {
+            for (ComponentModelNode it : arAdapter.getComponentModels()) {
+                final ComponentEntity itComponent = it.getComponent();
+                if (!existingModelIds.contains(it.getId())
+                        && !pendingModelsById.containsKey(it.getId())
+                        && itComponent != null
+                        && componentId.equals(itComponent.getObjectId())) {
+                    removeUnbound(pendingModel);
+                    pendingModelsById.put(it.getId(), pendingModel);
+                    break;
+                }
+            }
+        }
+
+        pendingModel.timeoutRunnable = () -> {
+            removePendingModel(pendingModel);
+            pendingModel.completionSource.trySetError(new TimeoutException(
+                    "Model of '" + componentId + "' component isn't loaded in "
+                            + (MODEL_LOADING_TIMEOUT_MILLIS / 1000) + " secs."
+            ));
+        };
+        Utils.runOnUiThreadDelayed(pendingModel.timeoutRunnable, MODEL_LOADING_TIMEOUT_MILLIS);
+
+        return task;
+    }
+
+    /**
+     * Returns (and forgets) the add request of the model. Requests which haven't been bound to a node
+     * are matched by component id.
+     */
+    @Nullable
+    private PendingModel takePendingModel(@NonNull String modelId, @Nullable String componentId) {
+        PendingModel result = pendingModelsById.remove(modelId);
+        if (result == null) {
+            final ArrayDeque<PendingModel> queue = unboundPendingModels.get(componentId);
+            result = queue != null ? queue.peek() : null;
+            if (result != null) {
+                removeUnbound(result);
+            }
+        }
+
+        if (result != null && result.timeoutRunnable != null) {
+            Utils.MAIN_HANDLER.removeCallbacks(result.timeoutRunnable);
+        }
+        return result;
+    }
+
+    private void removePendingModel(@NonNull PendingModel pendingModel) {
+        pendingModelsById.values().remove(pendingModel);
+        removeUnbound(pendingModel);
+    }
+
+    private void removeUnbound(@NonNull PendingModel pendingModel) {
+        final ArrayDeque<PendingModel> queue = unboundPendingModels.get(pendingModel.componentId);
+        if (queue != null && queue.remove(pendingModel) && queue.isEmpty()) {
+            unboundPendingModels.remove(pendingModel.componentId);
+        }
+    }
+
+    private void failPendingModels(@NonNull Exception e) {
+        final List<PendingModel> pendingModels = new ArrayList<>(pendingModelsById.values());
+        for (ArrayDeque<PendingModel> queue : unboundPendingModels.values()) {
+            pendingModels.addAll(queue);
+        }
+        pendingModelsById.clear();
+        unboundPendingModels.clear();
+
+        for (PendingModel it : pendingModels) {
+            if (it.timeoutRunnable != null) {
+                Utils.MAIN_HANDLER.removeCallbacks(it.timeoutRunnable);
+            }
+            it.completionSource.trySetError(e);
+        }
+    }
+
+    private boolean removeModel(@NonNull String modelId) {
+        if (arAdapter == null) {
+            return false;
+        }
+
+        ComponentModelNode model = modelsById.get(modelId);
+        if (model == null) {
+            // The model can be in the scene before onComponentModelAdded() is delivered.
+            for (ComponentModelNode it : arAdapter.getComponentModels()) {
+                if (modelId.equals(it.getId())) {
+                    model = it;
+                    break;
+                }
+            }
+        }
+
+        if (model == null) {
+            return false;
+        }
+
+        arAdapter.removeComponentModel(model);
+        return true;
+    }
+
+    // MARK: - Telemetry
+
+    private void setTelemetryEnabled(boolean enabled, long intervalMillis) {
+        if (telemetry != null) {
+            telemetry.stop();
+            telemetry = null;
+        }
+
+        if (!enabled || arSceneView == null || arAdapter == null) {
+            return;
+        }
+
+        telemetry = new ArTelemetry(
+                arSceneView,
+                arAdapter,
+                activity.getWindowManager().getDefaultDisplay().getRefreshRate(),
+                intervalMillis,
+                it -> methodCallBatcher.invokeMethod("onTelemetry", it)
+        );
+        telemetry.start();
+    }
+
+    // MARK: - Memory pressure
+
+    private void onMemoryPressureLevelChanged(int level) {
+        if (arSceneView == null) {
+            return;
+        }
+
+        final boolean reduceQuality = level >= MemoryPressureMonitor.LEVEL_REDUCE_QUALITY;
+        if (reduceQuality && reducedLightEstimationEnabled == null) {
+            reducedLightEstimationEnabled = arSceneView.isLightEstimationEnabled();
+            arSceneView.setLightEstimationEnabled(false);
+        } else if (!reduceQuality && reducedLightEstimationEnabled != null) {
+            arSceneView.setLightEstimationEnabled(reducedLightEstimationEnabled);
+            reducedLightEstimationEnabled = null;
+        }
+    }
+
+    private boolean isRefusingModels(@NonNull MethodChannel.Result result) {
+        if (MemoryPressureMonitor.getInstance().getLevel() < MemoryPressureMonitor.LEVEL_REFUSE_MODELS) {
+            return false;
+        }
+
+        result.error(
+                CwflutterPlugin.INSUFFICIENT_MEMORY,
+                "Unable to add models due to low memory.",
+                null
+        );
+        return true;
+    }
+
     // MARK: - AR
 
     private void startArSession() {
         if (arAdapter != null) {
             arAdapter.startArSession();
-            Utils.runOnUiThread(() -> {
-                channel.invokeMethod("onArSessionStarted", false);
-            });
+            methodCallBatcher.invokeMethod("onArSessionStarted", false);
         }
     }
 
     private void stopArSession() {
         if (arAdapter != null) {
             arAdapter.stopArSession();
-            Utils.runOnUiThread(() -> {
-                channel.invokeMethod("onArSessionPaused", null);
-            });
+            methodCallBatcher.invokeMethodNow("onArSessionPaused", null);
         }
     }
 
     private void destroyArSession() {
+        setTelemetryEnabled(false, 0);
         if (arAdapter != null) {
             arAdapter.destroyArSession();
         }
+        if (planeAnchorPool != null) {
+            planeAnchorPool.clear();
+            planeAnchorPool = null;
+        }
+        modelsById.clear();
+        failPendingModels(new IllegalStateException("AR session is destroyed."));
         arSceneView = null;
         arAdapter = null;
     }
@@ -308,9 +924,7 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
             arAdapter.setSelectionVisualizerType(ArAdapter.SelectionVisualizerType.JUMPING);
         }
 
-        Utils.runOnUiThread(() -> {
-            channel.invokeMethod("onArShowHelpMessage", "Point your phone against the floor at an angle.");
-        });
+        methodCallBatcher.invokeMethod("onArShowHelpMessage", "Point your phone against the floor at an angle.");
     }
 
     @Override
@@ -319,9 +933,7 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
         args.put("isCritical", false);
         args.put("message", throwable.getMessage());
 
-        Utils.runOnUiThread(() -> {
-            channel.invokeMethod("onError", args);
-        });
+        methodCallBatcher.invokeMethod("onError", args);
     }
 
     @Override
@@ -330,9 +942,7 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
         args.put("isCritical", true);
         args.put("message", tr.getMessage());
 
-        Utils.runOnUiThread(() -> {
-            channel.invokeMethod("onError", args);
-        });
+        methodCallBatcher.invokeMethod("onError", args);
     }
 
     @Override
@@ -343,9 +953,12 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
 
         arAdapter.disablePlaneDiscoveryInstruction();
 
-        // Attach a node to the anchor with the scene as the parent
-        final AnchorNode anchorNode = new AnchorNode(anchor);
-        anchorNode.setParent(arAdapter.getArSceneView().getScene());
+        // Attach a node to the anchor with the scene as the parent (one node per plane, see PlaneAnchorPool)
+        if (planeAnchorPool == null) {
+            planeAnchorPool = new PlaneAnchorPool(arAdapter.getArSceneView().getScene());
+            planeAnchorPool.setMaxAnchors(maxPlaneAnchors);
+        }
+        final AnchorNode anchorNode = planeAnchorPool.obtain(plane, anchor);
 
         if (firstPlaneDetected) {
             return;
@@ -353,9 +966,7 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
 
         firstPlaneDetected = true;
 
-        Utils.runOnUiThread(() -> {
-            channel.invokeMethod("onArFirstPlaneDetected", Utils.serialize(anchorNode.getWorldPosition()));
-        });
+        methodCallBatcher.invokeMethod("onArFirstPlaneDetected", Utils.serialize(anchorNode.getWorldPosition()));
     }
 
     @Override
@@ -372,30 +983,69 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
 
     @Override
     public void onComponentModelAdded(@NonNull ComponentModelNode componentModel, @Nullable Exception e) {
+        final ComponentEntity component = componentModel.getComponent();
+        final String componentId = component != null ? component.getObjectId() : null;
+
         if (e != null) {
             Log.e(TAG, "Unable to add componentModel due error", e);
+            Utils.runOnUiThread(() -> {
+                final PendingModel pendingModel = takePendingModel(componentModel.getId(), componentId);
+                if (pendingModel != null) {
+                    pendingModel.completionSource.trySetError(e);
+                }
+            });
             onArError(e);
             return;
         }
 
         final Map<String, Object> args = new HashMap<>();
         args.put("modelId", componentModel.getId());
-        args.put("componentId", componentModel.getComponent().getObjectId());
+        args.put("componentId", componentId);
 
+        // Events are queued once the model is registered (so Flutter side can't address it before).
         Utils.runOnUiThread(() -> {
-            channel.invokeMethod("onArModelAdded", args);
-            channel.invokeMethod("onArShowHelpMessage", "Use gestures to move & rotate object. Tap on it to select. Tap on empty space to deselect object.");
+            modelsById.put(componentModel.getId(), componentModel);
+
+            methodCallBatcher.invokeMethod("onArModelAdded", args);
+            methodCallBatcher.invokeMethod("onArShowHelpMessage", "Use gestures to move & rotate object. Tap on it to select. Tap on empty space to deselect object.");
+
+            final PendingModel pendingModel = takePendingModel(componentModel.getId(), componentId);
+            if (pendingModel == null) {
+                return;
+            }
+
+            final SceneSnapshot.Model transform = pendingModel.transform;
+            if (transform != null) {
+                componentModel.setWorldPosition(transform.position);
+                componentModel.setWorldRotation(transform.rotation);
+                componentModel.setWorldScale(transform.scale);
+            }
+            pendingModel.completionSource.trySetResult(componentModel.getId());
         });
     }
 
     @Override
     public void onComponentModelDeleted(@NonNull ComponentModelNode componentModel) {
+        final String modelId = componentModel.getId();
+
         final Map<String, Object> args = new HashMap<>();
         args.put("modelId", componentModel.getId());
         args.put("componentId", componentModel.getComponent().getObjectId());
 
         Utils.runOnUiThread(() -> {
-            channel.invokeMethod("onModelDeleted", args);
+            modelsById.remove(modelId);
+            modelLoadingProgressThrottler.remove(modelId);
+
+            // Removed while loading.
+            final PendingModel pendingModel = pendingModelsById.remove(modelId);
+            if (pendingModel != null) {
+                if (pendingModel.timeoutRunnable != null) {
+                    Utils.MAIN_HANDLER.removeCallbacks(pendingModel.timeoutRunnable);
+                }
+                pendingModel.completionSource.trySetError(new IllegalStateException("Model is removed before it's loaded."));
+            }
+
+            methodCallBatcher.invokeMethod("onModelDeleted", args);
         });
     }
 
@@ -405,26 +1055,23 @@ class CwflutterArView implements PlatformView, MethodChannel.MethodCallHandler,
         args.put("modelId", componentModel.getId());
         args.put("componentId", componentModel.getComponent().getObjectId());
 
-        Utils.runOnUiThread(() -> {
-            channel.invokeMethod("onModelSelected", args);
-        });
+        methodCallBatcher.invokeMethod("onModelSelected", args);
     }
 
     @Override
     public void onComponentModelDeselected(@NonNull ComponentModelNode componentModel) {
-        Utils.runOnUiThread(() -> {
-            channel.invokeMethod("onSelectionReset", null);
-        });
+        methodCallBatcher.invokeMethod("onSelectionReset", null);
     }
 
     @Override
     public void onComponentModelLoadingProgress(@NonNull ComponentModelNode componentModel, double completed) {
-        final Map<String, Object> args = new HashMap<>();
-        args.put("componentId", componentModel.getComponent().getObjectId());
-        args.put("progress", (int) (completed * 100));
+        final String modelId = componentModel.getId();
+        final String componentId = componentModel.getComponent().getObjectId();
+        final int progress = (int) (completed * 100);
 
+        // Throttled and batched per frame (see ModelLoadingProgressThrottler).
         Utils.runOnUiThread(() -> {
-            channel.invokeMethod("onModelLoadingProgress", args);
+            modelLoadingProgressThrottler.onProgress(modelId, componentId, progress);
         });
     }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package io.configwise.sdk.cwflutter;
 
 import android.app.Activity;
 import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkCapabilities;
 import android.util.Log;
 
 import androidx.annotation.Keep;
@@ -14,8 +16,12 @@ import org.greenrobot.eventbus.ThreadMode;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.parse.boltsinternal.Task;
 import io.configwise.sdk.ConfigWiseSDK;
@@ -29,11 +35,11 @@ import io.configwise.sdk.services.AppListItemService;
 import io.configwise.sdk.services.AuthService;
 import io.configwise.sdk.services.CompanyService;
 import io.configwise.sdk.services.ComponentService;
-import io.configwise.sdk.services.DownloadingService;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.embedding.engine.plugins.activity.ActivityAware;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
@@ -51,6 +57,16 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
 
     private static final String CHANNEL_NAME = "cwflutter";
 
+    private static final String COMPONENTS_CHANNEL_NAME = "cwflutter/components";
+
+    private static final String PREFETCH_CHANNEL_NAME = "cwflutter/prefetch";
+
+    private static final String PERFORMANCE_CHANNEL_NAME = "cwflutter/performance";
+
+    private static final String MEMORY_CHANNEL_NAME = "cwflutter/memory";
+
+    private static final String BOOTSTRAP_CHANNEL_NAME = "cwflutter/bootstrap";
+
     static final String VIEW_FACTORY_ID = "cwflutter_ar";
 
     public static final String BAD_REQUEST = "400";
@@ -59,6 +75,7 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
     public static final String NOT_FOUND = "404";
     public static final String INTERNAL_ERROR = "500";
     public static final String NOT_IMPLEMENTED = "501";
+    public static final String INSUFFICIENT_MEMORY = "507";
 
     @Nullable
     private FlutterPluginBinding flutterPluginBinding;
@@ -66,12 +83,98 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
     @Nullable
     private MethodChannel channel;
 
+    @Nullable
+    private EventChannel componentsChannel;
+
+    @Nullable
+    private EventChannel prefetchChannel;
+
+    @Nullable
+    private EventChannel performanceChannel;
+
+    @Nullable
+    private EventChannel memoryChannel;
+
+    @Nullable
+    private EventChannel bootstrapChannel;
+
+    @NonNull
+    private final BootstrapPipeline bootstrapPipeline = new BootstrapPipeline();
+
+    @NonNull
+    private final ComponentPrefetcher prefetcher = new ComponentPrefetcher();
+
+    @Nullable
+    private AppListItemIndex appListItemIndex;
+
+    @Nullable
+    private Context applicationContext;
+
+    private static final ChangeFeed<ComponentEntity> COMPONENT_CHANGE_FEED = new ChangeFeed<>(new ChangeFeed.Adapter<ComponentEntity>() {
+        @NonNull
+        @Override
+        public String getId(@NonNull ComponentEntity entity) {
+            return entity.getObjectId();
+        }
+
+        @Nullable
+        @Override
+        public Date getCreatedAt(@NonNull ComponentEntity entity) {
+            return entity.getCreatedAt();
+        }
+
+        @Nullable
+        @Override
+        public Date getUpdatedAt(@NonNull ComponentEntity entity) {
+            return entity.getUpdatedAt();
+        }
+
+        @NonNull
+        @Override
+        public Map<String, ?> serialize(@NonNull ComponentEntity entity) {
+            // Changed components are cached (and indexed) as obtainAllComponents does.
+            Map<String, ?> serialized = Utils.serializeComponentEntity(entity);
+            ComponentCache.getInstance().put(entity, serialized);
+            ComponentSearchIndex.getInstance().add(entity);
+            return serialized;
+        }
+    });
+
+    @Nullable
+    private SessionCache sessionCache;
+
+    @Nullable
+    private ThumbnailCache thumbnailCache;
+
     @Nullable
     private Activity activity;
 
-    private void startListening(BinaryMessenger messenger) {
+    private void startListening(BinaryMessenger messenger, Context context) {
+        applicationContext = context.getApplicationContext();
+
+        sessionCache = new SessionCache(applicationContext);
+        thumbnailCache = new ThumbnailCache(applicationContext);
+
+        appListItemIndex = new AppListItemIndex(context, this::isAppListItemVisible);
+
         channel = new MethodChannel(messenger, CHANNEL_NAME);
         channel.setMethodCallHandler(this);
+
+        componentsChannel = new EventChannel(messenger, COMPONENTS_CHANNEL_NAME);
+        componentsChannel.setStreamHandler(new ComponentsStreamHandler());
+
+        prefetchChannel = new EventChannel(messenger, PREFETCH_CHANNEL_NAME);
+        prefetchChannel.setStreamHandler(prefetcher);
+
+        performanceChannel = new EventChannel(messenger, PERFORMANCE_CHANNEL_NAME);
+        performanceChannel.setStreamHandler(PerformanceMonitor.getInstance());
+
+        MemoryPressureMonitor.getInstance().start(applicationContext);
+        memoryChannel = new EventChannel(messenger, MEMORY_CHANNEL_NAME);
+        memoryChannel.setStreamHandler(MemoryPressureMonitor.getInstance());
+
+        bootstrapChannel = new EventChannel(messenger, BOOTSTRAP_CHANNEL_NAME);
+        bootstrapChannel.setStreamHandler(bootstrapPipeline);
     }
 
     // This static function is optional and equivalent to onAttachedToEngine. It supports the old
@@ -85,7 +188,7 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
     // in the same class.
     public static void registerWith(Registrar registrar) {
         CwflutterPlugin plugin = new CwflutterPlugin();
-        plugin.startListening(registrar.messenger());
+        plugin.startListening(registrar.messenger(), registrar.context());
 
         registrar
                 .platformViewRegistry()
@@ -98,7 +201,7 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
     @Override
     public void onAttachedToEngine(@NonNull FlutterPluginBinding binding) {
         flutterPluginBinding = binding;
-        startListening(binding.getBinaryMessenger());
+        startListening(binding.getBinaryMessenger(), binding.getApplicationContext());
     }
 
     @Override
@@ -107,6 +210,41 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
             channel.setMethodCallHandler(null);
         }
         channel = null;
+
+        if (componentsChannel != null) {
+            componentsChannel.setStreamHandler(null);
+        }
+        componentsChannel = null;
+
+        prefetcher.cancelAll();
+        if (prefetchChannel != null) {
+            prefetchChannel.setStreamHandler(null);
+        }
+        prefetchChannel = null;
+
+        if (performanceChannel != null) {
+            performanceChannel.setStreamHandler(null);
+        }
+        performanceChannel = null;
+
+        if (memoryChannel != null) {
+            memoryChannel.setStreamHandler(null);
+        }
+        memoryChannel = null;
+        MemoryPressureMonitor.getInstance().stop();
+
+        if (bootstrapChannel != null) {
+            bootstrapChannel.setStreamHandler(null);
+        }
+        bootstrapChannel = null;
+
+        if (appListItemIndex != null) {
+            appListItemIndex.close();
+        }
+        appListItemIndex = null;
+
+        applicationContext = null;
+
         flutterPluginBinding = null;
     }
 
@@ -130,31 +268,39 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
     @Override
     public void onDetachedFromActivity() {
         EventBus.getDefault().unregister(this);
+        ArScenePool.getInstance().release();
         this.activity = null;
     }
 
     @Override
     public void onReattachedToActivityForConfigChanges(@NonNull ActivityPluginBinding binding) {
         onAttachedToActivity(binding);
+
+        // The pre-warmed scene is kept through configuration changes (it's re-built for the new activity).
+        ArScenePool.getInstance().retarget(binding.getActivity());
     }
 
     @Override
     public void onDetachedFromActivityForConfigChanges() {
-        onDetachedFromActivity();
+        EventBus.getDefault().unregister(this);
+        this.activity = null;
     }
 
     // MARK: - MethodCallHandler
 
     @Override
-    public void onMethodCall(@NonNull MethodCall call, @NonNull Result result) {
+    public void onMethodCall(@NonNull MethodCall call, @NonNull Result rawResult) {
         final Map<String, ?> args = call.arguments();
 
+        final PerformanceMonitor.Trace trace = PerformanceMonitor.getInstance().startTrace(call.method);
+        final Result result = trace.wrap(rawResult);
+
         if (call.method.equals("getPlatformVersion")) {
             result.success("Android " + android.os.Build.VERSION.RELEASE);
         } else if (call.method.equals("checkConfiguration")) {
             boolean res = checkConfiguration(args);
             result.success(res);
-        } else if (call.method.equals("initialize")) {
+        } else if (call.method.equals("initialize") || call.method.equals("bootstrap")) {
             if (this.activity == null) {
                 result.error(
                         INTERNAL_ERROR,
@@ -189,7 +335,26 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
                 lightEstimateEnabled = true;
             }
 
-            ConfigWiseSDK.initialize(new ConfigWiseSDK.Builder(this.activity.getApplicationContext())
+            Integer componentCacheTtl = (Integer) args.get("componentCacheTtl");
+            Integer componentCacheMaxSize = (Integer) args.get("componentCacheMaxSize");
+            Integer sessionCacheTtl = (Integer) args.get("sessionCacheTtl");
+            if (sessionCache != null) {
+                // secs to msecs
+                sessionCache.setTtlMillis(sessionCacheTtl != null ? sessionCacheTtl * 1000L : SessionCache.DEFAULT_TTL_MILLIS);
+            }
+
+            if (appListItemIndex != null) {
+                // secs to msecs
+                appListItemIndex.setRefreshPeriod(dbAccessPeriod * 1000L);
+            }
+
+            ComponentCache.getInstance().configure(
+                    // secs to msecs
+                    componentCacheTtl != null ? componentCacheTtl * 1000L : ComponentCache.DEFAULT_TTL_MILLIS,
+                    componentCacheMaxSize != null ? componentCacheMaxSize : ComponentCache.DEFAULT_MAX_SIZE_IN_BYTES
+            );
+
+            final ConfigWiseSDK.Builder builder = new ConfigWiseSDK.Builder(this.activity.getApplicationContext())
                     .sdkVariant(ConfigWiseSDK.SdkVariant.B2C)
                     .companyAuthToken(companyAuthToken)
 
@@ -201,10 +366,42 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
 
                     .lightEstimateEnabled(lightEstimateEnabled)
                     .debugLogging(false)
-                    .debug3d(false)
-            );
+                    .debug3d(false);
+
+            if (call.method.equals("initialize")) {
+                ConfigWiseSDK.initialize(builder);
+                result.success(true);
+                return;
+            }
+
+            Boolean warmUpCatalog = (Boolean) args.get("warmUpCatalog");
+
+            trace.ready(bootstrap(builder, warmUpCatalog != null && warmUpCatalog)).continueWith(task -> {
+                if (task.isCancelled()) {
+                    String message = "Unable to bootstrap due invocation task is canceled.";
+                    Log.e(TAG, message);
+                    result.error(
+                            UNAUTHORIZED,
+                            message,
+                            null
+                    );
+                    return null;
+                }
+
+                if (task.isFaulted()) {
+                    Exception e = task.getError();
+                    Log.e(TAG, "Unable to bootstrap due error", e);
+                    result.error(
+                            UNAUTHORIZED,
+                            e.getMessage(),
+                            null
+                    );
+                    return null;
+                }
 
-            result.success(true);
+                result.success(task.getResult());
+                return null;
+            }, Task.UI_THREAD_EXECUTOR);
         } else if (call.method.equals("signIn")) {
             signIn().continueWith(task -> {
                 if (task.isCancelled()) {
@@ -243,7 +440,12 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
                 return;
             }
 
-            DownloadingService.getInstance().download(fileKey).continueWith(task -> {
+            Integer priority = (Integer) args.get("priority");
+            if (priority == null) {
+                priority = DownloadScheduler.PRIORITY_NORMAL;
+            }
+
+            trace.ready(DownloadScheduler.getInstance().download(fileKey, priority)).continueWith(task -> {
                 if (task.isCancelled()) {
                     String message = "Unable to obtain '" + fileKey + "' due invocation task is canceled.";
                     Log.e(TAG, message);
@@ -266,6 +468,71 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
                     return null;
                 }
 
+                File file = task.getResult();
+                result.success(file != null ? file.getAbsolutePath() : "");
+                return null;
+            }, Task.UI_THREAD_EXECUTOR);
+        } else if (call.method.equals("obtainThumbnail")) {
+            String fileKey = (String) args.get("file_key");
+            if (fileKey == null || fileKey.isEmpty()) {
+                result.error(
+                        BAD_REQUEST,
+                        "'file_key' parameter must not be blank.",
+                        null
+                );
+                return;
+            }
+
+            Integer width = (Integer) args.get("width");
+            Integer height = (Integer) args.get("height");
+            if (width == null || height == null
+                    || width <= 0 || height <= 0
+                    || width > ThumbnailCache.MAX_DIMENSION || height > ThumbnailCache.MAX_DIMENSION) {
+                result.error(
+                        BAD_REQUEST,
+                        "'width' and 'height' parameters must be in range [1, " + ThumbnailCache.MAX_DIMENSION + "].",
+                        null
+                );
+                return;
+            }
+
+            if (thumbnailCache == null) {
+                result.error(
+                        INTERNAL_ERROR,
+                        "Invalid state of ConfigWise Flutter plugin (thumbnailCache is null).",
+                        null
+                );
+                return;
+            }
+
+            Integer priority = (Integer) args.get("priority");
+            if (priority == null) {
+                priority = DownloadScheduler.PRIORITY_NORMAL;
+            }
+
+            trace.ready(thumbnailCache.obtainThumbnail(fileKey, width, height, priority)).continueWith(task -> {
+                if (task.isCancelled()) {
+                    String message = "Unable to obtain thumbnail of '" + fileKey + "' due invocation task is canceled.";
+                    Log.e(TAG, message);
+                    result.error(
+                            INTERNAL_ERROR,
+                            message,
+                            null
+                    );
+                    return null;
+                }
+
+                if (task.isFaulted()) {
+                    Exception e = task.getError();
+                    Log.e(TAG, "Unable to obtain thumbnail of '" + fileKey + "' due error", e);
+                    result.error(
+                            INTERNAL_ERROR,
+                            e.getMessage(),
+                            null
+                    );
+                    return null;
+                }
+
                 File file = task.getResult();
                 result.success(file != null ? file.getAbsolutePath() : "");
                 return null;
@@ -273,8 +540,19 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
         } else if (call.method.equals("obtainAllComponents")) {
             Integer offset = (Integer) args.get("offset");
             Integer max = (Integer) args.get("max");
+            Boolean binary = (Boolean) args.get("binary");
+            ComponentFilter filter = ComponentFilter.fromArgs((Map<String, ?>) args.get("filter"));
 
-            obtainAllComponents(offset, max).continueWith(task -> {
+            // Projection (null means all fields)
+            List<String> argFields = (List<String>) args.get("fields");
+            Set<String> fields = argFields != null ? new HashSet<>(argFields) : null;
+
+            // Compact binary encoding (see CatalogCodec) is opt-in.
+            Task<?> obtainTask = binary != null && binary
+                    ? obtainAllComponentsEncoded(offset, max, filter, fields, trace)
+                    : obtainAllComponents(offset, max, filter, fields, trace);
+
+            trace.ready(obtainTask).continueWith(task -> {
                 if (task.isCancelled()) {
                     String message = "Unable to obtain components due invocation task is canceled.";
                     Log.e(TAG, message);
@@ -311,7 +589,7 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
                 return;
             }
 
-            obtainComponentById(componentId).continueWith(task -> {
+            trace.ready(obtainComponentById(componentId, trace)).continueWith(task -> {
                 if (task.isCancelled()) {
                     String message = "Unable to obtain component due invocation task is canceled.";
                     Log.e(TAG, message);
@@ -337,12 +615,139 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
                 result.success(task.getResult());
                 return null;
             }, Task.UI_THREAD_EXECUTOR);
+        } else if (call.method.equals("obtainComponentsByIds")) {
+            List<String> componentIds = (List<String>) args.get("ids");
+            if (componentIds == null) {
+                result.error(
+                        BAD_REQUEST,
+                        "'ids' parameter must not be null.",
+                        null
+                );
+                return;
+            }
+
+            trace.ready(obtainComponentsByIds(componentIds, trace)).continueWith(task -> {
+                if (task.isCancelled()) {
+                    String message = "Unable to obtain components due invocation task is canceled.";
+                    Log.e(TAG, message);
+                    result.error(
+                            INTERNAL_ERROR,
+                            message,
+                            null
+                    );
+                    return null;
+                }
+
+                if (task.isFaulted()) {
+                    Exception e = task.getError();
+                    Log.e(TAG, "Unable to obtain components due error", e);
+                    result.error(
+                            INTERNAL_ERROR,
+                            e.getMessage(),
+                            null
+                    );
+                    return null;
+                }
+
+                result.success(task.getResult());
+                return null;
+            }, Task.UI_THREAD_EXECUTOR);
+        } else if (call.method.equals("prefetchComponents")) {
+            List<String> componentIds = (List<String>) args.get("ids");
+            if (componentIds == null) {
+                result.error(
+                        BAD_REQUEST,
+                        "'ids' parameter must not be null.",
+                        null
+                );
+                return;
+            }
+
+            Integer priority = (Integer) args.get("priority");
+            if (priority == null) {
+                priority = DownloadScheduler.PRIORITY_LOW;
+            }
+
+            result.success(prefetcher.prefetch(componentIds, priority));
+        } else if (call.method.equals("cancelPrefetch")) {
+            Integer prefetchId = (Integer) args.get("prefetchId");
+            if (prefetchId == null) {
+                result.error(
+                        BAD_REQUEST,
+                        "'prefetchId' parameter must not be null.",
+                        null
+                );
+                return;
+            }
+
+            prefetcher.cancel(prefetchId);
+            result.success(null);
+        } else if (call.method.equals("searchComponents")) {
+            String query = (String) args.get("query");
+            if (query == null) {
+                result.error(
+                        BAD_REQUEST,
+                        "'query' parameter must not be null.",
+                        null
+                );
+                return;
+            }
+
+            Integer limit = (Integer) args.get("limit");
+            if (limit == null) {
+                limit = 20;
+            }
+
+            Boolean idsOnly = (Boolean) args.get("idsOnly");
+
+            trace.ready(searchComponents(query, limit, idsOnly != null && idsOnly, trace)).continueWith(task -> {
+                if (task.isCancelled()) {
+                    String message = "Unable to search components due invocation task is canceled.";
+                    Log.e(TAG, message);
+                    result.error(
+                            INTERNAL_ERROR,
+                            message,
+                            null
+                    );
+                    return null;
+                }
+
+                if (task.isFaulted()) {
+                    Exception e = task.getError();
+                    Log.e(TAG, "Unable to search components due error", e);
+                    result.error(
+                            INTERNAL_ERROR,
+                            e.getMessage(),
+                            null
+                    );
+                    return null;
+                }
+
+                result.success(task.getResult());
+                return null;
+            }, Task.UI_THREAD_EXECUTOR);
+        } else if (call.method.equals("invalidateComponentCache")) {
+            String componentId = args != null ? (String) args.get("id") : null;
+            if (componentId != null && !componentId.isEmpty()) {
+                ComponentCache.getInstance().invalidate(componentId);
+            } else {
+                ComponentCache.getInstance().invalidateAll();
+            }
+            result.success(null);
         } else if (call.method.equals("obtainAllAppListItems")) {
             String parentId = (String) args.get("parent_id");
             Integer offset = (Integer) args.get("offset");
             Integer max = (Integer) args.get("max");
+            Boolean binary = (Boolean) args.get("binary");
+            Boolean paginateVisibleItems = (Boolean) args.get("paginateVisibleItems");
+            final boolean isPaginatedVisibleItems = paginateVisibleItems != null && paginateVisibleItems;
+
+            // Compact binary encoding (see CatalogCodec) is opt-in.
+            Task<?> obtainTask = binary != null && binary
+                    ? obtainAllAppListItemsEncoded(parentId, offset, max, isPaginatedVisibleItems, trace)
+                    : obtainAllAppListItems(parentId, offset, max, isPaginatedVisibleItems, trace);
 
-            obtainAllAppListItems(parentId, offset, max).continueWith(task -> {
+            trace.ready(obtainTask).continueWith(task -> {
                 if (task.isCancelled()) {
                     String message = "Unable to obtain appListItems due invocation task is canceled.";
                     Log.e(TAG, message);
@@ -368,6 +773,109 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
                 result.success(task.getResult());
                 return null;
             }, Task.UI_THREAD_EXECUTOR);
+        } else if (call.method.equals("obtainComponentChanges")) {
+            Number since = (Number) args.get("since");
+            List<String> knownIds = (List<String>) args.get("knownIds");
+
+            Task<Map<String, Object>> obtainTask = obtainComponentChanges(
+                    since != null ? since.longValue() : 0,
+                    knownIds != null ? new HashSet<>(knownIds) : null,
+                    trace
+            );
+
+            trace.ready(obtainTask).continueWith(task -> {
+                if (task.isCancelled()) {
+                    String message = "Unable to obtain component changes due invocation task is canceled.";
+                    Log.e(TAG, message);
+                    result.error(
+                            INTERNAL_ERROR,
+                            message,
+                            null
+                    );
+                    return null;
+                }
+
+                if (task.isFaulted()) {
+                    Exception e = task.getError();
+                    Log.e(TAG, "Unable to obtain component changes due error", e);
+                    result.error(
+                            INTERNAL_ERROR,
+                            e.getMessage(),
+                            null
+                    );
+                    return null;
+                }
+
+                result.success(task.getResult());
+                return null;
+            }, Task.UI_THREAD_EXECUTOR);
+        } else if (call.method.equals("obtainAppListItemChanges")) {
+            String parentId = (String) args.get("parent_id");
+            Number since = (Number) args.get("since");
+            List<String> knownIds = (List<String>) args.get("knownIds");
+
+            Task<Map<String, Object>> obtainTask = obtainAppListItemChanges(
+                    parentId,
+                    since != null ? since.longValue() : 0,
+                    knownIds != null ? new HashSet<>(knownIds) : null,
+                    trace
+            );
+
+            trace.ready(obtainTask).continueWith(task -> {
+                if (task.isCancelled()) {
+                    String message = "Unable to obtain appListItem changes due invocation task is canceled.";
+                    Log.e(TAG, message);
+                    result.error(
+                            INTERNAL_ERROR,
+                            message,
+                            null
+                    );
+                    return null;
+                }
+
+                if (task.isFaulted()) {
+                    Exception e = task.getError();
+                    Log.e(TAG, "Unable to obtain appListItem changes due error", e);
+                    result.error(
+                            INTERNAL_ERROR,
+                            e.getMessage(),
+                            null
+                    );
+                    return null;
+                }
+
+                result.success(task.getResult());
+                return null;
+            }, Task.UI_THREAD_EXECUTOR);
+        } else if (call.method.equals("prewarmArScene")) {
+            if (this.activity == null) {
+                result.error(
+                        INTERNAL_ERROR,
+                        "Invalid state of ConfigWise Flutter plugin (activity is null).",
+                        null
+                );
+                return;
+            }
+
+            Integer idleTimeout = (Integer) args.get("idleTimeout");
+
+            result.success(ArScenePool.getInstance().prewarm(
+                    this.activity,
+                    // secs to msecs
+                    idleTimeout != null ? idleTimeout * 1000L : ArScenePool.DEFAULT_IDLE_TIMEOUT_MILLIS
+            ));
+        } else if (call.method.equals("releasePrewarmedArScene")) {
+            ArScenePool.getInstance().release();
+            result.success(null);
+        } else if (call.method.equals("setPerformanceMonitoringEnabled")) {
+            Boolean enabled = (Boolean) args.get("enabled");
+            PerformanceMonitor.getInstance().setEnabled(enabled != null && enabled);
+            result.success(null);
+        } else if (call.method.equals("getPerformanceStats")) {
+            result.success(PerformanceMonitor.getInstance().snapshot());
+        } else if (call.method.equals("resetPerformanceStats")) {
+            PerformanceMonitor.getInstance().reset();
+            result.success(null);
         } else {
             result.notImplemented();
         }
@@ -376,6 +884,15 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
     @Keep
     @Subscribe(threadMode = ThreadMode.MAIN_ORDERED)
     public void onEventSignOut(SignOutEvent event) {
+        if (sessionCache != null) {
+            sessionCache.clear();
+        }
+        ComponentCache.getInstance().invalidateAll();
+        ComponentSearchIndex.getInstance().clear();
+        if (appListItemIndex != null) {
+            appListItemIndex.clear();
+        }
+
         Utils.runOnUiThread(() -> {
             if (channel != null) {
                 channel.invokeMethod("onSignOut", "Unauthorized.");
@@ -418,7 +935,59 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
         return res;
     }
 
+    /**
+     * Confirms the session from {@link SessionCache} (if it's validated within TTL) without a network
+     * round-trip and revalidates it in background. If the revalidation fails, {@link SignOutEvent} is posted.
+     */
     private Task<Boolean> signIn() {
+        final String token = ConfigWiseSDK.getInstance().getCompanyAuthToken();
+        final SessionCache sessionCache = this.sessionCache;
+
+        if (sessionCache != null && sessionCache.isValid(token)) {
+            revalidateSession(sessionCache, token);
+            return Task.forResult(true);
+        }
+
+        return validateSession(token)
+                .onSuccess(task -> {
+                    if (sessionCache != null) {
+                        sessionCache.store(token);
+                    }
+                    return task.getResult();
+                });
+    }
+
+    private void revalidateSession(@NonNull SessionCache sessionCache, @NonNull String token) {
+        if (!isNetworkAvailable()) {
+            // Offline - the cached session stays valid till it expires.
+            return;
+        }
+
+        validateSession(token).continueWith(task -> {
+            if (task.isCancelled()) {
+                return null;
+            }
+
+            if (task.isFaulted()) {
+                final Exception e = task.getError();
+                if (!SessionCache.isRejection(e)) {
+                    // Flaky network or server error - the cached session stays valid till it expires.
+                    Log.w(TAG, "Unable to revalidate the cached session", e);
+                    return null;
+                }
+
+                Log.w(TAG, "Cached session is rejected by backend", e);
+                sessionCache.clear();
+                EventBus.getDefault().post(new SignOutEvent());
+                return null;
+            }
+
+            sessionCache.store(token);
+            return null;
+        }, Task.BACKGROUND_EXECUTOR);
+    }
+
+    private Task<Boolean> validateSession(@Nullable String token) {
         return CompanyService.getInstance().obtainCurrentCompany()
                 .onSuccessTask(obtainCurrentCompanyTask -> {
                     CompanyEntity company = obtainCurrentCompanyTask.getResult();
@@ -427,8 +996,8 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
                     }
 
                     return AuthService.getInstance().signIn(
-                            ConfigWiseSDK.getInstance().getCompanyAuthToken(),
-                            ConfigWiseSDK.getInstance().getCompanyAuthToken()
+                            token,
+                            token
                     )
                             .onSuccessTask(signInTask -> {
                                 UserEntity user = signInTask.getResult();
@@ -436,46 +1005,281 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
                                     return Task.forResult(true);
                                 }
 
-                                throw new RuntimeException("Unauthorized - user not found.");
+                                throw new SessionCache.RejectedException("Unauthorized - user not found.");
                             });
                 });
     }
 
-    private Task<List<Map<String, ?>>> obtainAllComponents(@Nullable Integer offset, @Nullable Integer max) {
-        return ComponentService.getInstance().obtainAllComponentsByCurrentCatalog(offset, max)
+    private boolean isNetworkAvailable() {
+        final ConnectivityManager connectivityManager = applicationContext != null
+                ? (ConnectivityManager) applicationContext.getSystemService(Context.CONNECTIVITY_SERVICE)
+                : null;
+        if (connectivityManager == null) {
+            return true;
+        }
+
+        final NetworkCapabilities capabilities = connectivityManager.getNetworkCapabilities(connectivityManager.getActiveNetwork());
+        return capabilities != null && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+    }
+
+    /**
+     * Initializes ConfigWise SDK and opens the local index (in background) in parallel, then restores
+     * (or signs in) the session. The SDK is initialized on main UI thread as by 'initialize' (Parse, its
+     * handlers and listeners expect a Looper thread), it's only posted, so the local index starts first. Catalog (search index, root app-list level) is warmed up after that
+     * in background (awaited only by events of the 'catalog' stage). Result contains durations of stages.
+     */
+    private Task<Map<String, Object>> bootstrap(@NonNull ConfigWiseSDK.Builder builder, boolean warmUpCatalog) {
+        bootstrapPipeline.begin();
+
+        final Task<Void> sdkTask = bootstrapPipeline.stage(BootstrapPipeline.STAGE_SDK, () -> Task.call(() -> {
+            ConfigWiseSDK.initialize(builder);
+            return null;
+        }, Task.UI_THREAD_EXECUTOR));
+
+        final AppListItemIndex index = appListItemIndex;
+        final Task<Void> localIndexTask = bootstrapPipeline.stage(BootstrapPipeline.STAGE_LOCAL_INDEX, () -> Task.call(() -> {
+            if (index != null) {
+                // Opens (creates / upgrades) the database.
+                index.getReadableDatabase();
+            }
+            return null;
+        }, Utils.IO_EXECUTOR));
+
+        final Task<Boolean> sessionTask = sdkTask.onSuccessTask(
+                task -> bootstrapPipeline.stage(BootstrapPipeline.STAGE_SESSION, this::signIn),
+                Task.UI_THREAD_EXECUTOR
+        );
+
+        sessionTask.onSuccess(task -> {
+            if (!warmUpCatalog) {
+                // Search index is built lazily (by the first search).
+                return null;
+            }
+
+            bootstrapPipeline.stage(BootstrapPipeline.STAGE_CATALOG, () -> {
+                final List<Task<?>> tasks = new ArrayList<>();
+                tasks.add(ComponentSearchIndex.getInstance().build());
+                if (index != null) {
+                    tasks.add(index.obtainAllAppListItems(null));
+                }
+                return Task.whenAll(tasks);
+            });
+            return null;
+        }, Task.UI_THREAD_EXECUTOR);
+
+        final List<Task<?>> readyTasks = new ArrayList<>();
+        readyTasks.add(localIndexTask);
+        readyTasks.add(sessionTask);
+
+        return Task.whenAll(readyTasks).continueWithTask(task -> {
+            // Local index is optional (it's re-opened on demand), session is not.
+            if (sessionTask.isFaulted() || sessionTask.isCancelled()) {
+                return sessionTask.isFaulted()
+                        ? Task.<Map<String, Object>>forError(sessionTask.getError())
+                        : Task.<Map<String, Object>>cancelled();
+            }
+            return Task.forResult(bootstrapPipeline.getDurations());
+        }, Task.UI_THREAD_EXECUTOR);
+    }
+
+    /**
+     * NOTICE: Pagination (offset, max) is applied by ComponentService before filtering,
+     * so a page can contain less than 'max' components if filter is set.
+     */
+    private Task<List<Map<String, ?>>> obtainAllComponents(
+            @Nullable Integer offset,
+            @Nullable Integer max,
+            @Nullable ComponentFilter filter,
+            @Nullable Set<String> fields,
+            @NonNull PerformanceMonitor.Trace trace
+    ) {
+        return trace.sdk(ComponentService.getInstance().obtainAllComponentsByCurrentCatalog(offset, max))
                 .onSuccessTask(task -> {
+                    final long serializationStartedAt = System.nanoTime();
                     List<Map<String, ?>> result = new ArrayList<>();
 
                     List<ComponentEntity> entities = task.getResult();
                     for (ComponentEntity it : entities) {
-                        result.add(Utils.serializeComponentEntity(it));
+                        if (filter != null && !filter.matches(it)) {
+                            continue;
+                        }
+
+                        if (fields != null) {
+                            result.add(Utils.serializeComponentEntity(it, fields));
+                            continue;
+                        }
+
+                        Map<String, ?> serialized = Utils.serializeComponentEntity(it);
+                        ComponentCache.getInstance().put(it, serialized);
+                        ComponentSearchIndex.getInstance().add(it);
+                        result.add(serialized);
                     }
 
+                    trace.serialization(serializationStartedAt);
                     return Task.forResult(result);
+                }, Utils.SERIALIZATION_EXECUTOR);
+    }
+
+    private Task<byte[]> obtainAllComponentsEncoded(
+            @Nullable Integer offset,
+            @Nullable Integer max,
+            @Nullable ComponentFilter filter,
+            @Nullable Set<String> fields,
+            @NonNull PerformanceMonitor.Trace trace
+    ) {
+        return trace.sdk(ComponentService.getInstance().obtainAllComponentsByCurrentCatalog(offset, max))
+                .onSuccess(task -> {
+                    final long serializationStartedAt = System.nanoTime();
+                    List<ComponentEntity> matched = new ArrayList<>();
+
+                    List<ComponentEntity> entities = task.getResult();
+                    for (ComponentEntity it : entities) {
+                        if (filter == null || filter.matches(it)) {
+                            matched.add(it);
+                        }
+                    }
+
+                    final byte[] result = CatalogCodec.encode(CatalogCodec.project(CatalogCodec.COMPONENT_FIELDS, fields), matched);
+                    trace.serialization(serializationStartedAt);
+                    return result;
+                }, Utils.SERIALIZATION_EXECUTOR);
+    }
+
+    private Task<Map<String, ?>> obtainComponentById(@NonNull String componentId, @NonNull PerformanceMonitor.Trace trace) {
+        return ComponentCache.getInstance().obtainComponentById(componentId, trace)
+                .onSuccess(task -> {
+                    ComponentCache.Entry entry = task.getResult();
+                    return entry != null ? entry.serialized : null;
                 });
     }
 
-    private Task<Map<String, ?>> obtainComponentById(@NonNull String componentId) {
-        return ComponentService.getInstance().obtainComponentById(componentId)
-                .onSuccessTask(task -> {
-                    ComponentEntity component = task.getResult();
+    /**
+     * Searches components in the search index (builds it by the first search). Result list is ranked -
+     * it contains ids (if idsOnly) or serialized components (resolved through ComponentCache,
+     * hits which aren't found anymore are skipped).
+     *
+     * Fails if the index can't be built completely (the build is faulted, or it's cancelled by clear(), eg: on
+     * sign out) - partially built index isn't searched. The next search builds the index again.
+     */
+    private Task<List<Object>> searchComponents(@NonNull String query, int limit, boolean idsOnly, @NonNull PerformanceMonitor.Trace trace) {
+        final Task<List<String>> hitsTask = ComponentSearchIndex.getInstance().build()
+                .continueWith(task -> {
+                    if (task.isFaulted()) {
+                        throw task.getError();
+                    }
+                    if (task.isCancelled()) {
+                        throw new IllegalStateException("Search index is cleared while it's building.");
+                    }
 
-                    return Task.forResult(component != null
-                            ? Utils.serializeComponentEntity(component)
-                            : null
-                    );
+                    List<String> result = new ArrayList<>();
+                    for (ComponentSearchIndex.Hit hit : ComponentSearchIndex.getInstance().search(query, limit)) {
+                        result.add(hit.componentId);
+                    }
+                    return result;
+                }, Utils.SERIALIZATION_EXECUTOR);
+
+        if (idsOnly) {
+            return hitsTask.onSuccess(task -> new ArrayList<Object>(task.getResult()));
+        }
+
+        return hitsTask
+                .onSuccessTask(task -> obtainComponentsByIds(task.getResult(), trace))
+                .onSuccess(task -> {
+                    List<Object> result = new ArrayList<>();
+                    for (Map<String, ?> it : task.getResult()) {
+                        final Object component = it.get("component");
+                        if (component != null) {
+                            result.add(component);
+                        }
+                    }
+                    return result;
                 });
     }
 
-    private Task<List<Map<String, ?>>> obtainAllAppListItems(@Nullable String parentId, @Nullable Integer offset, @Nullable Integer max) {
+    /**
+     * Obtains components concurrently. Result list keeps order of given ids - every item contains
+     * 'id', 'component' (null if not found) and 'error' (null if obtained successfully) fields.
+     */
+    private Task<List<Map<String, ?>>> obtainComponentsByIds(@NonNull List<String> componentIds, @NonNull PerformanceMonitor.Trace trace) {
+        final List<Task<ComponentCache.Entry>> tasks = new ArrayList<>();
+        for (String componentId : componentIds) {
+            tasks.add(componentId != null && !componentId.isEmpty()
+                    ? ComponentCache.getInstance().obtainComponentById(componentId, trace)
+                    : Task.<ComponentCache.Entry>forError(new IllegalArgumentException("Component id must not be blank."))
+            );
+        }
+
+        // NOTICE: whenAll() completes once all tasks are completed (even if some of them are faulted),
+        // so we inspect every task separately here.
+        return Task.whenAll(tasks).continueWith(whenAllTask -> {
+            List<Map<String, ?>> result = new ArrayList<>();
+
+            for (int i = 0; i < tasks.size(); i++) {
+                final Task<ComponentCache.Entry> task = tasks.get(i);
+
+                final Map<String, Object> item = new HashMap<>();
+                item.put("id", componentIds.get(i));
+
+                if (task.isFaulted() || task.isCancelled()) {
+                    final Exception e = task.getError();
+                    item.put("component", null);
+                    item.put("error", e != null && e.getMessage() != null
+                            ? e.getMessage()
+                            : "Invocation task is canceled."
+                    );
+                } else {
+                    final ComponentCache.Entry entry = task.getResult();
+                    item.put("component", entry != null ? entry.serialized : null);
+                    item.put("error", null);
+                }
+
+                result.add(item);
+            }
+
+            return result;
+        });
+    }
+
+    /**
+     * Obtains visible items of the app-list level from the local index (see AppListItemIndex), then applies
+     * pagination - if the whole level is requested or pagination of visible items is requested explicitly.
+     *
+     * Otherwise (offset / max are applied to all items of the level, then invisible items are filtered out)
+     * the page is obtained from ConfigWise SDK as before.
+     */
+    private Task<List<Map<String, ?>>> obtainAllAppListItems(
+            @Nullable String parentId,
+            @Nullable Integer offset,
+            @Nullable Integer max,
+            boolean paginateVisibleItems,
+            @NonNull PerformanceMonitor.Trace trace
+    ) {
+        if ((offset != null || max != null) && !paginateVisibleItems) {
+            return obtainAllAppListItemsPage(parentId, offset, max, trace);
+        }
+
+        if (appListItemIndex == null) {
+            return Task.forError(new IllegalStateException("Invalid state of ConfigWise Flutter plugin (appListItemIndex is null)."));
+        }
+
+        return appListItemIndex.obtainAllAppListItems(parentId != null && !parentId.isEmpty() ? parentId : null, trace)
+                .onSuccess(task -> page(task.getResult(), offset, max));
+    }
+
+    private Task<List<Map<String, ?>>> obtainAllAppListItemsPage(
+            @Nullable String parentId,
+            @Nullable Integer offset,
+            @Nullable Integer max,
+            @NonNull PerformanceMonitor.Trace trace
+    ) {
         AppListItemEntity parent = null;
         if (parentId != null && !parentId.isEmpty()) {
             parent = new AppListItemEntity();
             parent.setObjectId(parentId);
         }
 
-        return AppListItemService.getInstance().obtainAllAppListItemsByCurrentCatalogAndParent(parent, offset, max)
-                .onSuccessTask(task -> {
+        return trace.sdk(AppListItemService.getInstance().obtainAllAppListItemsByCurrentCatalogAndParent(parent, offset, max))
+                .onSuccess(task -> {
                     List<Map<String, ?>> result = new ArrayList<>();
 
                     List<AppListItemEntity> entities = task.getResult();
@@ -485,8 +1289,67 @@ public class CwflutterPlugin implements FlutterPlugin, ActivityAware, MethodCall
                         }
                     }
 
-                    return Task.forResult(result);
-                });
+                    return result;
+                }, Utils.SERIALIZATION_EXECUTOR);
+    }
+
+    private Task<byte[]> obtainAllAppListItemsEncoded(
+            @Nullable String parentId,
+            @Nullable Integer offset,
+            @Nullable Integer max,
+            boolean paginateVisibleItems,
+            @NonNull PerformanceMonitor.Trace trace
+    ) {
+        return obtainAllAppListItems(parentId, offset, max, paginateVisibleItems, trace)
+                .onSuccess(task -> {
+                    final long serializationStartedAt = System.nanoTime();
+                    final byte[] result = CatalogCodec.encode(CatalogCodec.APP_LIST_ITEM_ROW_FIELDS, task.getResult());
+                    trace.serialization(serializationStartedAt);
+                    return result;
+                }, Utils.SERIALIZATION_EXECUTOR);
+    }
+
+    /**
+     * Components created, updated or deleted since the watermark (see {@link ChangeFeed}). Only changed
+     * components are serialized and sent; the component cache and the search index are patched by them.
+     *
+     * NOTICE: It's a platform channel optimization only. ComponentService has no query by updatedAt, so
+     * every call still obtains the whole catalog from the SDK (with its network / database cost) and diffs it here.
+     */
+    private Task<Map<String, Object>> obtainComponentChanges(long since, @Nullable Set<String> knownIds, @NonNull PerformanceMonitor.Trace trace) {
+        return trace.sdk(ComponentService.getInstance().obtainAllComponentsByCurrentCatalog(null, null))
+                .onSuccess(task -> {
+                    final long serializationStartedAt = System.nanoTime();
+                    final Map<String, Object> changes = COMPONENT_CHANGE_FEED.diff(task.getResult(), since, knownIds);
+
+                    for (Object it : (List<?>) changes.get("deleted")) {
+                        ComponentCache.getInstance().invalidate((String) it);
+                        ComponentSearchIndex.getInstance().remove((String) it);
+                    }
+
+                    trace.serialization(serializationStartedAt);
+                    return changes;
+                }, Utils.SERIALIZATION_EXECUTOR);
+    }
+
+    private Task<Map<String, Object>> obtainAppListItemChanges(
+            @Nullable String parentId,
+            long since,
+            @Nullable Set<String> knownIds,
+            @NonNull PerformanceMonitor.Trace trace
+    ) {
+        if (appListItemIndex == null) {
+            return Task.forError(new IllegalStateException("Invalid state of ConfigWise Flutter plugin (appListItemIndex is null)."));
+        }
+
+        return appListItemIndex.obtainChanges(parentId != null && !parentId.isEmpty() ? parentId : null, since, knownIds, trace);
+    }
+
+    @NonNull
+    private static <T> List<T> page(@NonNull List<T> items, @Nullable Integer offset, @Nullable Integer max) {
+        final int from = offset != null ? Math.min(Math.max(offset, 0), items.size()) : 0;
+        final int to = max != null ? Math.min(from + Math.max(max, 0), items.size()) : items.size();
+        return new ArrayList<>(items.subList(from, to));
     }
 
     private boolean isAppListItemVisible(@NonNull AppListItemEntity entity) {
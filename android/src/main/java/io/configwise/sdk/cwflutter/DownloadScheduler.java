@@ -0,0 +1,220 @@
+package io.configwise.sdk.cwflutter;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.parse.boltsinternal.Task;
+import com.parse.boltsinternal.TaskCompletionSource;
+import io.configwise.sdk.services.DownloadingService;
+
+/**
+ * Schedules downloads of {@link DownloadingService} through priority lanes.
+ *
+ * At most {@link #maxConcurrentDownloads} downloads run at a time. Queued downloads are started
+ * from the highest priority lane first, and only high priority downloads may occupy the last free slot,
+ * so an interactive request (eg: a file the user has just tapped) starts right away even if the grid
+ * has queued lots of normal priority thumbnails. Requests of the same file key share one download
+ * while it is queued or running.
+ *
+ * NOTICE: Only files requested through the plugin (obtainFile, obtainThumbnail, prefetching) are scheduled.
+ * 3D models of AR scenes are downloaded by ArAdapter (inside ConfigWise SDK), they don't go through
+ * the scheduler and can't be prioritized over thumbnails.
+ */
+class DownloadScheduler {
+
+    private static final String TAG = DownloadScheduler.class.getSimpleName();
+
+    static final int PRIORITY_LOW = 0;
+    static final int PRIORITY_NORMAL = 1;
+    static final int PRIORITY_HIGH = 2;
+
+    private static final int LANES_COUNT = 3;
+
+    static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 4;
+
+    private static class Request {
+
+        @NonNull
+        final String fileKey;
+
+        @NonNull
+        final TaskCompletionSource<File> completionSource = new TaskCompletionSource<>();
+
+        int priority;
+
+        // Number of callers waiting for this download.
+        int waiters = 1;
+
+        boolean started = false;
+
+        Request(@NonNull String fileKey, int priority) {
+            this.fileKey = fileKey;
+            this.priority = priority;
+        }
+    }
+
+    @Nullable
+    private static DownloadScheduler instance;
+
+    @NonNull
+    static synchronized DownloadScheduler getInstance() {
+        if (instance == null) {
+            instance = new DownloadScheduler(DEFAULT_MAX_CONCURRENT_DOWNLOADS);
+        }
+        return instance;
+    }
+
+    private final ArrayDeque<Request>[] lanes;
+
+    // Queued and running requests by file key.
+    private final Map<String, Request> requests = new HashMap<>();
+
+    private final int maxConcurrentDownloads;
+
+    private int runningDownloads = 0;
+
+    // Low priority lane isn't drained while paused (eg: on memory pressure).
+    private boolean lowPriorityPaused = false;
+
+    private DownloadScheduler(int maxConcurrentDownloads) {
+        this.maxConcurrentDownloads = Math.max(2, maxConcurrentDownloads);
+
+        lanes = new ArrayDeque[LANES_COUNT];
+        for (int i = 0; i < LANES_COUNT; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    @NonNull
+    Task<File> download(@NonNull String fileKey, int priority) {
+        priority = Math.max(PRIORITY_LOW, Math.min(PRIORITY_HIGH, priority));
+
+        final Task<File> result;
+        synchronized (this) {
+            Request request = requests.get(fileKey);
+            if (request != null) {
+                request.waiters++;
+
+                // Raise priority of the queued request if it's requested again with higher priority.
+                if (!request.started && priority > request.priority) {
+                    lanes[request.priority].remove(request);
+                    request.priority = priority;
+                    lanes[priority].add(request);
+                }
+
+                return request.completionSource.getTask();
+            }
+
+            request = new Request(fileKey, priority);
+            requests.put(fileKey, request);
+            lanes[priority].add(request);
+
+            result = request.completionSource.getTask();
+        }
+
+        drain();
+        return result;
+    }
+
+    /**
+     * Pauses (or resumes) starting of low priority downloads. Already running downloads aren't interrupted.
+     */
+    void setLowPriorityPaused(boolean paused) {
+        synchronized (this) {
+            if (lowPriorityPaused == paused) {
+                return;
+            }
+            lowPriorityPaused = paused;
+        }
+
+        if (!paused) {
+            drain();
+        }
+    }
+
+    /**
+     * Tells that a caller isn't interested in the download anymore. The download is removed from
+     * the queue if it isn't started yet and nobody else waits for it.
+     */
+    void release(@NonNull String fileKey) {
+        final Request request;
+        synchronized (this) {
+            request = requests.get(fileKey);
+            if (request == null || request.started || --request.waiters > 0) {
+                return;
+            }
+
+            lanes[request.priority].remove(request);
+            requests.remove(fileKey);
+        }
+
+        request.completionSource.trySetCancelled();
+    }
+
+    private void drain() {
+        while (true) {
+            final Request request;
+            synchronized (this) {
+                request = pollNext();
+                if (request == null) {
+                    return;
+                }
+
+                request.started = true;
+                runningDownloads++;
+            }
+
+            DownloadingService.getInstance().download(request.fileKey).continueWith(task -> {
+                synchronized (this) {
+                    runningDownloads--;
+                    requests.remove(request.fileKey);
+                }
+
+                if (task.isCancelled()) {
+                    request.completionSource.trySetCancelled();
+                } else if (task.isFaulted()) {
+                    Log.e(TAG, "Unable to download '" + request.fileKey + "' due error", task.getError());
+                    request.completionSource.trySetError(task.getError());
+                } else {
+                    request.completionSource.trySetResult(task.getResult());
+                }
+
+                drain();
+                return null;
+            });
+        }
+    }
+
+    @Nullable
+    private Request pollNext() {
+        if (runningDownloads >= maxConcurrentDownloads) {
+            return null;
+        }
+
+        for (int priority = PRIORITY_HIGH; priority >= PRIORITY_LOW; priority--) {
+            if (lanes[priority].isEmpty()) {
+                continue;
+            }
+
+            if (priority == PRIORITY_LOW && lowPriorityPaused) {
+                return null;
+            }
+
+            // Keep the last slot free for high priority (interactive) requests.
+            if (priority < PRIORITY_HIGH && runningDownloads >= maxConcurrentDownloads - 1) {
+                return null;
+            }
+
+            return lanes[priority].poll();
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,306 @@
+package io.configwise.sdk.cwflutter;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.flutter.plugin.common.EventChannel;
+
+/**
+ * Steps the plugin through degradation levels on memory pressure:
+ *
+ * - {@link #LEVEL_DROP_CACHES}: caches of the plugin are dropped
+ * - {@link #LEVEL_PAUSE_PREFETCH}: low priority downloads (prefetching) are paused
+ * - {@link #LEVEL_REDUCE_QUALITY}: light estimation of AR scenes is turned off
+ * - {@link #LEVEL_REFUSE_MODELS}: new models are refused with {@link CwflutterPlugin#INSUFFICIENT_MEMORY} error
+ *
+ * The level is the max of levels derived from Java heap headroom (only when the heap is close to OOM),
+ * available system memory (in relation to the low memory threshold of the system, see
+ * {@link ActivityManager.MemoryInfo#threshold}) and the last onTrimMemory() signal (which is held
+ * for {@link #TRIM_SIGNAL_HOLD_MILLIS}, the level is re-evaluated once it expires). Memory is polled
+ * while somebody listens the level or while the level is raised (so it always returns to normal).
+ * Level changes are emitted to the 'cwflutter/memory' event channel.
+ *
+ * It's the only ComponentCallbacks2 of the plugin: caches are dropped here on every raise of the level.
+ *
+ * NOTICE: All methods must be invoked from main UI thread.
+ */
+class MemoryPressureMonitor implements ComponentCallbacks2, EventChannel.StreamHandler {
+
+    private static final String TAG = MemoryPressureMonitor.class.getSimpleName();
+
+    static final int LEVEL_NORMAL = 0;
+    static final int LEVEL_DROP_CACHES = 1;
+    static final int LEVEL_PAUSE_PREFETCH = 2;
+    static final int LEVEL_REDUCE_QUALITY = 3;
+    static final int LEVEL_REFUSE_MODELS = 4;
+
+    private static final String[] LEVEL_NAMES = {"normal", "dropCaches", "pausePrefetch", "reduceQuality", "refuseModels"};
+
+    private static final long POLL_INTERVAL_MILLIS = 2000;
+
+    private static final long TRIM_SIGNAL_HOLD_MILLIS = 10000;
+
+    interface Listener {
+        void onMemoryPressureLevelChanged(int level);
+    }
+
+    @Nullable
+    private static MemoryPressureMonitor instance;
+
+    @NonNull
+    static synchronized MemoryPressureMonitor getInstance() {
+        if (instance == null) {
+            instance = new MemoryPressureMonitor();
+        }
+        return instance;
+    }
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    @Nullable
+    private Context context;
+
+    @Nullable
+    private EventChannel.EventSink events;
+
+    private int level = LEVEL_NORMAL;
+
+    private int trimSignalLevel = LEVEL_NORMAL;
+
+    private long trimSignalAt = 0;
+
+    private boolean polling = false;
+
+    @NonNull
+    private final Runnable pollRunnable = new Runnable() {
+        @Override
+        public void run() {
+            update();
+            if (polling) {
+                Utils.MAIN_HANDLER.postDelayed(this, POLL_INTERVAL_MILLIS);
+            }
+        }
+    };
+
+    // Re-evaluates the level once the held trim signal expires (even if nobody polls).
+    @NonNull
+    private final Runnable trimSignalExpiredRunnable = this::update;
+
+    private MemoryPressureMonitor() {
+    }
+
+    void start(@NonNull Context context) {
+        Utils.checkOnMainThread();
+
+        stop();
+
+        this.context = context.getApplicationContext();
+        this.context.registerComponentCallbacks(this);
+        updatePolling();
+    }
+
+    void stop() {
+        Utils.checkOnMainThread();
+
+        if (context != null) {
+            context.unregisterComponentCallbacks(this);
+        }
+        context = null;
+        Utils.MAIN_HANDLER.removeCallbacks(trimSignalExpiredRunnable);
+
+        // Nothing would lower the level anymore - don't leave prefetching paused (and tell subscribers).
+        trimSignalAt = 0;
+        setLevel(LEVEL_NORMAL);
+        updatePolling();
+    }
+
+    int getLevel() {
+        return level;
+    }
+
+    void addListener(@NonNull Listener listener) {
+        Utils.checkOnMainThread();
+
+        listeners.add(listener);
+        updatePolling();
+    }
+
+    void removeListener(@NonNull Listener listener) {
+        Utils.checkOnMainThread();
+
+        listeners.remove(listener);
+        updatePolling();
+    }
+
+    // MARK: - ComponentCallbacks2
+
+    @Override
+    public void onTrimMemory(int trimLevel) {
+        final int signalLevel;
+        if (trimLevel >= TRIM_MEMORY_COMPLETE || trimLevel == TRIM_MEMORY_RUNNING_CRITICAL) {
+            signalLevel = LEVEL_REFUSE_MODELS;
+        } else if (trimLevel == TRIM_MEMORY_RUNNING_LOW || trimLevel >= TRIM_MEMORY_MODERATE) {
+            signalLevel = LEVEL_PAUSE_PREFETCH;
+        } else if (trimLevel == TRIM_MEMORY_RUNNING_MODERATE) {
+            signalLevel = LEVEL_DROP_CACHES;
+        } else {
+            // TRIM_MEMORY_UI_HIDDEN, TRIM_MEMORY_BACKGROUND - app isn't visible, it's not a pressure itself.
+            return;
+        }
+
+        Utils.runOnUiThread(() -> {
+            trimSignalLevel = signalLevel;
+            trimSignalAt = SystemClock.elapsedRealtime();
+            update();
+
+            Utils.MAIN_HANDLER.removeCallbacks(trimSignalExpiredRunnable);
+            Utils.MAIN_HANDLER.postDelayed(trimSignalExpiredRunnable, TRIM_SIGNAL_HOLD_MILLIS);
+        });
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+    }
+
+    @Override
+    public void onLowMemory() {
+        onTrimMemory(TRIM_MEMORY_COMPLETE);
+    }
+
+    // MARK: - EventChannel.StreamHandler
+
+    @Override
+    public void onListen(Object arguments, EventChannel.EventSink events) {
+        this.events = events;
+        updatePolling();
+        emit();
+    }
+
+    @Override
+    public void onCancel(Object arguments) {
+        this.events = null;
+        updatePolling();
+    }
+
+    // MARK: - Levels
+
+    private void updatePolling() {
+        final boolean shouldPoll = context != null && (events != null || !listeners.isEmpty() || level != LEVEL_NORMAL);
+        if (shouldPoll == polling) {
+            return;
+        }
+
+        polling = shouldPoll;
+        Utils.MAIN_HANDLER.removeCallbacks(pollRunnable);
+        if (polling) {
+            Utils.MAIN_HANDLER.post(pollRunnable);
+        }
+    }
+
+    private void update() {
+        int newLevel = Math.max(heapLevel(), systemLevel());
+        if (SystemClock.elapsedRealtime() - trimSignalAt < TRIM_SIGNAL_HOLD_MILLIS) {
+            newLevel = Math.max(newLevel, trimSignalLevel);
+        }
+
+        setLevel(newLevel);
+        updatePolling();
+    }
+
+    private void setLevel(int newLevel) {
+        if (newLevel == level) {
+            return;
+        }
+
+        final int oldLevel = level;
+        level = newLevel;
+        Log.w(TAG, "Memory pressure level is changed: " + LEVEL_NAMES[oldLevel] + " -> " + LEVEL_NAMES[newLevel]);
+
+        if (newLevel >= LEVEL_DROP_CACHES && newLevel > oldLevel) {
+            ComponentCache.getInstance().invalidateAll();
+            SQLiteDatabase.releaseMemory();
+        }
+
+        DownloadScheduler.getInstance().setLowPriorityPaused(newLevel >= LEVEL_PAUSE_PREFETCH);
+
+        for (Listener it : new ArrayList<>(listeners)) {
+            it.onMemoryPressureLevelChanged(newLevel);
+        }
+
+        emit();
+    }
+
+    /**
+     * Level by headroom of Java heap (how much the heap can grow till OOM). A large part of the heap
+     * is routinely in use during AR sessions, so only the last few percents count.
+     */
+    private static int heapLevel() {
+        final Runtime runtime = Runtime.getRuntime();
+        final long maxMemory = runtime.maxMemory();
+        final long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+        final double headroom = (double) (maxMemory - usedMemory) / maxMemory;
+
+        if (headroom < 0.02) {
+            return LEVEL_REFUSE_MODELS;
+        } else if (headroom < 0.05) {
+            return LEVEL_PAUSE_PREFETCH;
+        } else if (headroom < 0.10) {
+            return LEVEL_DROP_CACHES;
+        }
+        return LEVEL_NORMAL;
+    }
+
+    /**
+     * Level by available memory of the device (native allocations of 3D models are counted here) in relation
+     * to the threshold at which the system starts killing processes (it's scaled by the system per device).
+     */
+    private int systemLevel() {
+        final ActivityManager activityManager = context != null
+                ? (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE)
+                : null;
+        if (activityManager == null) {
+            return LEVEL_NORMAL;
+        }
+
+        final ActivityManager.MemoryInfo memoryInfo = new ActivityManager.MemoryInfo();
+        activityManager.getMemoryInfo(memoryInfo);
+
+        if (memoryInfo.lowMemory) {
+            return LEVEL_REFUSE_MODELS;
+        } else if (memoryInfo.availMem < memoryInfo.threshold + memoryInfo.threshold / 4) {
+            return LEVEL_REDUCE_QUALITY;
+        } else if (memoryInfo.availMem < memoryInfo.threshold + memoryInfo.threshold / 2) {
+            return LEVEL_PAUSE_PREFETCH;
+        }
+        return LEVEL_NORMAL;
+    }
+
+    private void emit() {
+        if (events == null) {
+            return;
+        }
+
+        final Runtime runtime = Runtime.getRuntime();
+
+        final Map<String, Object> event = new HashMap<>();
+        event.put("level", level);
+        event.put("levelName", LEVEL_NAMES[level]);
+        event.put("heapUsed", runtime.totalMemory() - runtime.freeMemory());
+        event.put("heapMax", runtime.maxMemory());
+
+        events.success(event);
+    }
+}
@@ -0,0 +1,139 @@
+package io.configwise.sdk.cwflutter;
+
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * Batches channel.invokeMethod() calls queued during a frame into one Choreographer-aligned flush.
+ *
+ * A single queued call is passed as is, several calls are passed as one 'onBatch' call
+ * with the list of { method, arguments } in the order they were queued.
+ */
+class MethodCallBatcher implements Choreographer.FrameCallback {
+
+    private static final String TAG = MethodCallBatcher.class.getSimpleName();
+
+    static final String BATCH_METHOD = "onBatch";
+
+    private static class Call {
+
+        @NonNull
+        final String method;
+
+        @Nullable
+        final Object arguments;
+
+        Call(@NonNull String method, @Nullable Object arguments) {
+            this.method = method;
+            this.arguments = arguments;
+        }
+    }
+
+    @NonNull
+    private final MethodChannel channel;
+
+    // Accessed from main UI thread only.
+    private List<Call> pendingCalls = new ArrayList<>();
+
+    private boolean frameScheduled = false;
+
+    private boolean disposed = false;
+
+    MethodCallBatcher(@NonNull MethodChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Queues the call till the next frame. Can be invoked from any thread.
+     */
+    void invokeMethod(@NonNull String method, @Nullable Object arguments) {
+        Utils.runOnUiThreadOrNow(() -> {
+            if (disposed) {
+                return;
+            }
+
+            pendingCalls.add(new Call(method, arguments));
+
+            if (!frameScheduled) {
+                frameScheduled = true;
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+        });
+    }
+
+    /**
+     * Queues the call and flushes all pending calls right away (eg: for events which must not wait
+     * for the next frame, like pausing of AR session when frames aren't rendered anymore).
+     * Can be invoked from any thread.
+     */
+    void invokeMethodNow(@NonNull String method, @Nullable Object arguments) {
+        Utils.runOnUiThreadOrNow(() -> {
+            if (disposed) {
+                return;
+            }
+
+            pendingCalls.add(new Call(method, arguments));
+
+            if (frameScheduled) {
+                Choreographer.getInstance().removeFrameCallback(this);
+            }
+            flush();
+        });
+    }
+
+    /**
+     * Drops pending calls, further calls are ignored.
+     */
+    void dispose() {
+        Utils.checkOnMainThread();
+
+        disposed = true;
+        pendingCalls.clear();
+        if (frameScheduled) {
+            Choreographer.getInstance().removeFrameCallback(this);
+            frameScheduled = false;
+        }
+    }
+
+    // MARK: - Choreographer.FrameCallback
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        flush();
+    }
+
+    private void flush() {
+        frameScheduled = false;
+
+        final List<Call> calls = pendingCalls;
+        pendingCalls = new ArrayList<>();
+
+        if (calls.isEmpty()) {
+            return;
+        }
+
+        if (calls.size() == 1) {
+            channel.invokeMethod(calls.get(0).method, calls.get(0).arguments);
+            return;
+        }
+
+        final List<Map<String, Object>> batch = new ArrayList<>(calls.size());
+        for (Call call : calls) {
+            final Map<String, Object> item = new HashMap<>();
+            item.put("method", call.method);
+            item.put("arguments", call.arguments);
+            batch.add(item);
+        }
+
+        channel.invokeMethod(BATCH_METHOD, batch);
+    }
+}
@@ -0,0 +1,172 @@
+package io.configwise.sdk.cwflutter;
+
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throttles and coalesces loading progress of component models.
+ *
+ * Progress of a model is emitted on whole percent change only and at most
+ * {@link #setMaxEventsPerSecond(int) maxEventsPerSecond} times per second (0% and 100% are never throttled).
+ * Updates of all models collected during a frame are emitted as one batch on the next
+ * Choreographer frame, so N loading models cost one channel message per frame at most.
+ * The listener is expected to pass the batch to the channel right away (not to wait for one more frame).
+ *
+ * State of a model is kept after 100% (so repeated 100% isn't emitted again) till the model is removed.
+ *
+ * NOTICE: All methods must be invoked from main UI thread.
+ */
+class ModelLoadingProgressThrottler implements Choreographer.FrameCallback {
+
+    private static final String TAG = ModelLoadingProgressThrottler.class.getSimpleName();
+
+    static final int DEFAULT_MAX_EVENTS_PER_SECOND = 10;
+
+    interface Listener {
+        void onModelLoadingProgressBatch(@NonNull List<Map<String, Object>> batch);
+    }
+
+    private static class State {
+
+        @NonNull
+        final String modelId;
+
+        @NonNull
+        final String componentId;
+
+        int emittedProgress = -1;
+
+        long emittedAt = 0;
+
+        // -1 if nothing to emit
+        int pendingProgress = -1;
+
+        State(@NonNull String modelId, @NonNull String componentId) {
+            this.modelId = modelId;
+            this.componentId = componentId;
+        }
+    }
+
+    @NonNull
+    private final Listener listener;
+
+    // Keeps order of models (so batch items are ordered by the start of loading).
+    private final Map<String, State> states = new LinkedHashMap<>();
+
+    private long minIntervalNanos;
+
+    private boolean frameScheduled = false;
+
+    ModelLoadingProgressThrottler(@NonNull Listener listener) {
+        this.listener = listener;
+        setMaxEventsPerSecond(DEFAULT_MAX_EVENTS_PER_SECOND);
+    }
+
+    /**
+     * Sets max rate of progress events per model (0 - no rate limit, whole percent changes only).
+     */
+    void setMaxEventsPerSecond(int maxEventsPerSecond) {
+        minIntervalNanos = maxEventsPerSecond > 0 ? 1_000_000_000L / maxEventsPerSecond : 0;
+    }
+
+    void onProgress(@NonNull String modelId, @NonNull String componentId, int progress) {
+        Utils.checkOnMainThread();
+
+        progress = Math.max(0, Math.min(100, progress));
+
+        State state = states.get(modelId);
+        if (state == null) {
+            state = new State(modelId, componentId);
+            states.put(modelId, state);
+        }
+
+        if (progress == state.emittedProgress) {
+            // Whole percent hasn't changed since the last emitted update.
+            state.pendingProgress = -1;
+            return;
+        }
+
+        if (progress != state.pendingProgress) {
+            state.pendingProgress = progress;
+            scheduleFrame(0);
+        }
+    }
+
+    /**
+     * Forgets the model (eg: once it's deleted from the scene).
+     */
+    void remove(@NonNull String modelId) {
+        Utils.checkOnMainThread();
+
+        states.remove(modelId);
+    }
+
+    void clear() {
+        Utils.checkOnMainThread();
+
+        states.clear();
+        if (frameScheduled) {
+            Choreographer.getInstance().removeFrameCallback(this);
+            frameScheduled = false;
+        }
+    }
+
+    // MARK: - Choreographer.FrameCallback
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        frameScheduled = false;
+
+        final List<Map<String, Object>> batch = new ArrayList<>();
+
+        // Delay till the next throttled update may be emitted.
+        long nextDelayNanos = Long.MAX_VALUE;
+
+        for (State state : states.values()) {
+            if (state.pendingProgress < 0) {
+                continue;
+            }
+
+            final boolean isBoundary = state.pendingProgress == 0 || state.pendingProgress == 100;
+            final long elapsedNanos = frameTimeNanos - state.emittedAt;
+            if (!isBoundary && state.emittedAt > 0 && elapsedNanos < minIntervalNanos) {
+                nextDelayNanos = Math.min(nextDelayNanos, minIntervalNanos - elapsedNanos);
+                continue;
+            }
+
+            final Map<String, Object> item = new HashMap<>();
+            item.put("modelId", state.modelId);
+            item.put("componentId", state.componentId);
+            item.put("progress", state.pendingProgress);
+            batch.add(item);
+
+            state.emittedProgress = state.pendingProgress;
+            state.emittedAt = frameTimeNanos;
+            state.pendingProgress = -1;
+        }
+
+        if (!batch.isEmpty()) {
+            listener.onModelLoadingProgressBatch(batch);
+        }
+
+        if (nextDelayNanos != Long.MAX_VALUE) {
+            scheduleFrame(nextDelayNanos / 1_000_000);
+        }
+    }
+
+    private void scheduleFrame(long delayMillis) {
+        if (frameScheduled) {
+            return;
+        }
+
+        frameScheduled = true;
+        Choreographer.getInstance().postFrameCallbackDelayed(this, delayMillis);
+    }
+}
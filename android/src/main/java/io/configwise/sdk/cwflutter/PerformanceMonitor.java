@@ -0,0 +1,412 @@
+package io.configwise.sdk.cwflutter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.parse.boltsinternal.Task;
+import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * Collects per channel method latency histograms (opt-in, disabled by default).
+ *
+ * For every method it records:
+ * - total: from the method call till result (µs)
+ * - sdk: time of every ConfigWise SDK (ComponentService / AppListItemService) request of the call (µs),
+ *   cache hits don't record it
+ * - serialization: time of entities conversion into channel maps / bytes (µs)
+ * - uiHop: from the moment result is ready till it's passed to the channel on UI thread (µs)
+ * - payloadSize: estimated size of the encoded result (bytes). Estimated off UI thread (for results
+ *   of async tasks, see {@link Trace#ready(Task)}), long lists are sampled (see {@link #PAYLOAD_SAMPLE_SIZE}).
+ *
+ * Values are stored in log-linear buckets (HdrHistogram-style, 8 sub-buckets per power of two,
+ * so percentiles are precise within 12.5%), which gives constant memory and O(1) recording.
+ * Snapshot of all histograms is returned by 'getPerformanceStats' method and can be emitted
+ * periodically to the 'cwflutter/performance' event channel.
+ */
+class PerformanceMonitor implements EventChannel.StreamHandler {
+
+    private static final String TAG = PerformanceMonitor.class.getSimpleName();
+
+    static final String METRIC_TOTAL = "total";
+    static final String METRIC_SDK = "sdk";
+    static final String METRIC_SERIALIZATION = "serialization";
+    static final String METRIC_UI_HOP = "uiHop";
+    static final String METRIC_PAYLOAD_SIZE = "payloadSize";
+
+    static final long DEFAULT_EMIT_INTERVAL_MILLIS = 5000;
+
+    // Size of longer lists is extrapolated from this number of their items (taken at a stride over the list).
+    private static final int PAYLOAD_SAMPLE_SIZE = 16;
+
+    static class Histogram {
+
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final long[] counts = new long[64 * SUB_BUCKETS];
+
+        private long count = 0;
+
+        private long sum = 0;
+
+        private long min = Long.MAX_VALUE;
+
+        private long max = 0;
+
+        void record(long value) {
+            value = Math.max(0, value);
+
+            counts[indexOf(value)]++;
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        void reset() {
+            Arrays.fill(counts, 0);
+            count = 0;
+            sum = 0;
+            min = Long.MAX_VALUE;
+            max = 0;
+        }
+
+        long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+
+            final long threshold = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= threshold) {
+                    return Math.max(min, Math.min(max, lowerBoundOf(i)));
+                }
+            }
+            return max;
+        }
+
+        @NonNull
+        Map<String, Object> toMap() {
+            final Map<String, Object> result = new HashMap<>();
+            result.put("count", count);
+            result.put("min", count > 0 ? min : 0);
+            result.put("max", max);
+            result.put("mean", count > 0 ? (double) sum / count : 0.0);
+            result.put("p50", percentile(50));
+            result.put("p90", percentile(90));
+            result.put("p99", percentile(99));
+            return result;
+        }
+
+        private static int indexOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+
+            final int exponent = 63 - Long.numberOfLeadingZeros(value);
+            final int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long lowerBoundOf(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+
+            final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            final int subBucket = index % SUB_BUCKETS;
+            return (1L << exponent) | ((long) subBucket << (exponent - SUB_BUCKET_BITS));
+        }
+    }
+
+    /**
+     * Measurements of a single method call.
+     */
+    class Trace {
+
+        @NonNull
+        final String method;
+
+        private final long startedAt = System.nanoTime();
+
+        private volatile long readyAt = 0;
+
+        // Payload size is estimated in background by ready().
+        private volatile boolean payloadEstimated = false;
+
+        Trace(@NonNull String method) {
+            this.method = method;
+        }
+
+        /**
+         * Records duration of the SDK task (from this call, so pass the task of ComponentService /
+         * AppListItemService right after it's started, not a task of plugin helpers).
+         */
+        @NonNull
+        <T> Task<T> sdk(@NonNull Task<T> task) {
+            final long sdkStartedAt = System.nanoTime();
+            task.continueWith(it -> {
+                record(method, METRIC_SDK, (System.nanoTime() - sdkStartedAt) / 1000);
+                return null;
+            });
+            return task;
+        }
+
+        void serialization(long serializationStartedAt) {
+            record(method, METRIC_SERIALIZATION, (System.nanoTime() - serializationStartedAt) / 1000);
+        }
+
+        /**
+         * Marks the moment the result is ready (to measure the hop to UI thread) and estimates
+         * the payload size of the result on SERIALIZATION_EXECUTOR.
+         * Must be invoked before continuation on UI thread is registered.
+         */
+        @NonNull
+        <T> Task<T> ready(@NonNull Task<T> task) {
+            payloadEstimated = true;
+            task.continueWith(it -> {
+                readyAt = System.nanoTime();
+                return null;
+            });
+            task.continueWith(it -> {
+                if (!it.isFaulted() && !it.isCancelled()) {
+                    record(method, METRIC_PAYLOAD_SIZE, estimatePayloadSize(it.getResult()));
+                }
+                return null;
+            }, Utils.SERIALIZATION_EXECUTOR);
+            return task;
+        }
+
+        @NonNull
+        MethodChannel.Result wrap(@NonNull MethodChannel.Result result) {
+            return new MethodChannel.Result() {
+                @Override
+                public void success(@Nullable Object value) {
+                    finish(value);
+                    result.success(value);
+                }
+
+                @Override
+                public void error(String errorCode, @Nullable String errorMessage, @Nullable Object errorDetails) {
+                    finish(null);
+                    result.error(errorCode, errorMessage, errorDetails);
+                }
+
+                @Override
+                public void notImplemented() {
+                    result.notImplemented();
+                }
+            };
+        }
+
+        private void finish(@Nullable Object value) {
+            final long now = System.nanoTime();
+            record(method, METRIC_TOTAL, (now - startedAt) / 1000);
+            if (readyAt > 0) {
+                record(method, METRIC_UI_HOP, (now - readyAt) / 1000);
+            }
+            if (!payloadEstimated && value != null) {
+                // Synchronous results are small (eg: flags), the estimation is sampled anyway.
+                record(method, METRIC_PAYLOAD_SIZE, estimatePayloadSize(value));
+            }
+        }
+    }
+
+    /**
+     * Trace of disabled monitor - records nothing.
+     */
+    private class DisabledTrace extends Trace {
+
+        DisabledTrace() {
+            super("");
+        }
+
+        @NonNull
+        @Override
+        <T> Task<T> sdk(@NonNull Task<T> task) {
+            return task;
+        }
+
+        @Override
+        void serialization(long serializationStartedAt) {
+        }
+
+        @NonNull
+        @Override
+        <T> Task<T> ready(@NonNull Task<T> task) {
+            return task;
+        }
+
+        @NonNull
+        @Override
+        MethodChannel.Result wrap(@NonNull MethodChannel.Result result) {
+            return result;
+        }
+    }
+
+    @Nullable
+    private static PerformanceMonitor instance;
+
+    @NonNull
+    static synchronized PerformanceMonitor getInstance() {
+        if (instance == null) {
+            instance = new PerformanceMonitor();
+        }
+        return instance;
+    }
+
+    // method -> metric -> histogram
+    private final Map<String, Map<String, Histogram>> histograms = new TreeMap<>();
+
+    @NonNull
+    private final Trace disabledTrace = new DisabledTrace();
+
+    private volatile boolean enabled = false;
+
+    @Nullable
+    private Runnable emitRunnable;
+
+    private PerformanceMonitor() {
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    @NonNull
+    Trace startTrace(@NonNull String method) {
+        return enabled ? new Trace(method) : disabledTrace;
+    }
+
+    synchronized void record(@NonNull String method, @NonNull String metric, long value) {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, Histogram> methodHistograms = histograms.get(method);
+        if (methodHistograms == null) {
+            methodHistograms = new TreeMap<>();
+            histograms.put(method, methodHistograms);
+        }
+
+        Histogram histogram = methodHistograms.get(metric);
+        if (histogram == null) {
+            histogram = new Histogram();
+            methodHistograms.put(metric, histogram);
+        }
+
+        histogram.record(value);
+    }
+
+    /**
+     * Returns { method: { metric: { count, min, max, mean, p50, p90, p99 } } }
+     */
+    @NonNull
+    synchronized Map<String, Object> snapshot() {
+        final Map<String, Object> result = new HashMap<>();
+        for (Map.Entry<String, Map<String, Histogram>> method : histograms.entrySet()) {
+            final Map<String, Object> metrics = new HashMap<>();
+            for (Map.Entry<String, Histogram> metric : method.getValue().entrySet()) {
+                metrics.put(metric.getKey(), metric.getValue().toMap());
+            }
+            result.put(method.getKey(), metrics);
+        }
+        return result;
+    }
+
+    synchronized void reset() {
+        histograms.clear();
+    }
+
+    // MARK: - EventChannel.StreamHandler
+
+    @Override
+    public void onListen(Object arguments, EventChannel.EventSink events) {
+        stopEmitting();
+
+        long interval = DEFAULT_EMIT_INTERVAL_MILLIS;
+        if (arguments instanceof Map) {
+            final Object argInterval = ((Map<?, ?>) arguments).get("intervalMillis");
+            if (argInterval instanceof Number && ((Number) argInterval).longValue() > 0) {
+                interval = ((Number) argInterval).longValue();
+            }
+        }
+
+        final long emitInterval = interval;
+        emitRunnable = new Runnable() {
+            @Override
+            public void run() {
+                events.success(snapshot());
+                Utils.MAIN_HANDLER.postDelayed(this, emitInterval);
+            }
+        };
+        Utils.MAIN_HANDLER.postDelayed(emitRunnable, emitInterval);
+    }
+
+    @Override
+    public void onCancel(Object arguments) {
+        stopEmitting();
+    }
+
+    private void stopEmitting() {
+        if (emitRunnable != null) {
+            Utils.MAIN_HANDLER.removeCallbacks(emitRunnable);
+            emitRunnable = null;
+        }
+    }
+
+    // MARK: - Payload
+
+    /**
+     * Rough size of the value encoded by StandardMessageCodec.
+     */
+    private static long estimatePayloadSize(@Nullable Object value) {
+        if (value == null || value instanceof Boolean) {
+            return 1;
+        }
+        if (value instanceof Integer) {
+            return 5;
+        }
+        if (value instanceof Number) {
+            return 9;
+        }
+        if (value instanceof String) {
+            return 2 + ((String) value).length();
+        }
+        if (value instanceof byte[]) {
+            return 5 + ((byte[]) value).length;
+        }
+        if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            final int sampleSize = Math.min(list.size(), PAYLOAD_SAMPLE_SIZE);
+            final int stride = sampleSize > 0 ? list.size() / sampleSize : 1;
+
+            long sampled = 0;
+            for (int i = 0; i < sampleSize; i++) {
+                sampled += estimatePayloadSize(list.get(i * stride));
+            }
+            return 5 + (sampleSize > 0 ? sampled * list.size() / sampleSize : 0);
+        }
+        if (value instanceof Map) {
+            long result = 5;
+            for (Map.Entry<?, ?> it : ((Map<?, ?>) value).entrySet()) {
+                result += estimatePayloadSize(it.getKey()) + estimatePayloadSize(it.getValue());
+            }
+            return result;
+        }
+        return 8;
+    }
+}
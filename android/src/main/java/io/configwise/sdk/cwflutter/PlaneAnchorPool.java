@@ -0,0 +1,206 @@
+package io.configwise.sdk.cwflutter;
+
+import androidx.annotation.NonNull;
+
+import com.google.ar.core.Anchor;
+import com.google.ar.core.Plane;
+import com.google.ar.core.TrackingState;
+import com.google.ar.sceneform.AnchorNode;
+import com.google.ar.sceneform.Scene;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps at most {@link #maxAnchors} anchor nodes of detected planes in the scene (one per plane).
+ *
+ * - nodes of planes subsumed by other planes are merged into the subsuming plane
+ * - nodes of planes which stopped tracking are removed from the scene
+ * - least recently detected planes are evicted once the cap is exceeded
+ *
+ * Detached AnchorNodes are reused for new planes. Nodes which have children are never evicted: if both
+ * merged planes have nodes with children, the node of the subsumed plane is retained (it's still counted
+ * and detached by clear()) till its children are removed.
+ *
+ * Anchors are created by ConfigWise SDK, so the pool never detaches them from the AR session: released
+ * nodes only drop their anchor, and anchors of already anchored planes are left to the SDK.
+ *
+ * NOTICE: All methods must be invoked from main UI thread.
+ */
+class PlaneAnchorPool {
+
+    private static final String TAG = PlaneAnchorPool.class.getSimpleName();
+
+    static final int DEFAULT_MAX_ANCHORS = 16;
+
+    private static final int MAX_FREE_NODES = 8;
+
+    @NonNull
+    private final Scene scene;
+
+    // Access-ordered: the eldest entry is the least recently detected plane.
+    private final LinkedHashMap<Plane, AnchorNode> nodesByPlane = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Nodes with children whose plane has been merged into a plane which has a node with children too.
+    private final List<AnchorNode> retainedNodes = new ArrayList<>();
+
+    private final ArrayDeque<AnchorNode> freeNodes = new ArrayDeque<>();
+
+    private int maxAnchors = DEFAULT_MAX_ANCHORS;
+
+    PlaneAnchorPool(@NonNull Scene scene) {
+        this.scene = scene;
+    }
+
+    void setMaxAnchors(int maxAnchors) {
+        Utils.checkOnMainThread();
+
+        this.maxAnchors = Math.max(1, maxAnchors);
+        trim();
+    }
+
+    int size() {
+        return nodesByPlane.size() + retainedNodes.size();
+    }
+
+    /**
+     * Returns the anchor node of the plane (the given anchor isn't used if the plane already has a node).
+     */
+    @NonNull
+    AnchorNode obtain(@NonNull Plane plane, @NonNull Anchor anchor) {
+        Utils.checkOnMainThread();
+
+        final Plane topPlane = topPlaneOf(plane);
+
+        AnchorNode node = nodesByPlane.get(topPlane);
+        if (node != null) {
+            return node;
+        }
+
+        node = freeNodes.poll();
+        if (node != null) {
+            node.setAnchor(anchor);
+        } else {
+            node = new AnchorNode(anchor);
+        }
+        node.setParent(scene);
+        nodesByPlane.put(topPlane, node);
+
+        mergeSubsumed();
+        trim();
+
+        return node;
+    }
+
+    void clear() {
+        Utils.checkOnMainThread();
+
+        for (AnchorNode it : nodesByPlane.values()) {
+            detach(it);
+        }
+        for (AnchorNode it : retainedNodes) {
+            detach(it);
+        }
+        nodesByPlane.clear();
+        retainedNodes.clear();
+        freeNodes.clear();
+    }
+
+    @NonNull
+    private static Plane topPlaneOf(@NonNull Plane plane) {
+        Plane result = plane;
+        while (result.getSubsumedBy() != null) {
+            result = result.getSubsumedBy();
+        }
+        return result;
+    }
+
+    /**
+     * Re-keys nodes of subsumed planes to the subsuming plane (the node with children wins if it has a node
+     * already, see retainedNodes) and releases nodes of planes which aren't tracked anymore.
+     */
+    private void mergeSubsumed() {
+        final List<Map.Entry<Plane, AnchorNode>> moved = new ArrayList<>();
+
+        final Iterator<Map.Entry<Plane, AnchorNode>> iterator = nodesByPlane.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Plane, AnchorNode> entry = iterator.next();
+            final Plane plane = entry.getKey();
+            final AnchorNode node = entry.getValue();
+
+            if (plane.getTrackingState() == TrackingState.STOPPED && node.getChildren().isEmpty()) {
+                iterator.remove();
+                release(node);
+                continue;
+            }
+
+            if (plane.getSubsumedBy() != null) {
+                iterator.remove();
+                moved.add(new AbstractMap.SimpleEntry<>(topPlaneOf(plane), node));
+            }
+        }
+
+        for (Map.Entry<Plane, AnchorNode> it : moved) {
+            final AnchorNode existing = nodesByPlane.get(it.getKey());
+            if (existing == null) {
+                nodesByPlane.put(it.getKey(), it.getValue());
+            } else if (it.getValue().getChildren().isEmpty()) {
+                release(it.getValue());
+            } else if (existing.getChildren().isEmpty()) {
+                // Keep the node with children (eg: placed content) as the anchor of the plane.
+                nodesByPlane.put(it.getKey(), it.getValue());
+                release(existing);
+            } else {
+                // Both have content - keep both in the scene.
+                retainedNodes.add(it.getValue());
+            }
+        }
+    }
+
+    private void trim() {
+        // Retained nodes are released once their content is removed.
+        final Iterator<AnchorNode> retainedIterator = retainedNodes.iterator();
+        while (retainedIterator.hasNext()) {
+            final AnchorNode node = retainedIterator.next();
+            if (node.getChildren().isEmpty()) {
+                retainedIterator.remove();
+                release(node);
+            }
+        }
+
+        if (size() <= maxAnchors) {
+            return;
+        }
+
+        final Iterator<AnchorNode> iterator = nodesByPlane.values().iterator();
+        while (size() > maxAnchors && iterator.hasNext()) {
+            final AnchorNode node = iterator.next();
+            if (!node.getChildren().isEmpty()) {
+                continue;
+            }
+
+            iterator.remove();
+            release(node);
+        }
+    }
+
+    private void release(@NonNull AnchorNode node) {
+        detach(node);
+        if (freeNodes.size() < MAX_FREE_NODES) {
+            freeNodes.add(node);
+        }
+    }
+
+    /**
+     * Removes the node from the scene. Its anchor is owned by ConfigWise SDK, so it isn't detached here.
+     */
+    private static void detach(@NonNull AnchorNode node) {
+        node.setParent(null);
+        node.setAnchor(null);
+    }
+}
@@ -0,0 +1,146 @@
+package io.configwise.sdk.cwflutter;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.google.ar.sceneform.math.Quaternion;
+import com.google.ar.sceneform.math.Vector3;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Models of an AR scene (component id and world transform of every model) stored in app files dir.
+ *
+ * Format (big-endian): magic 'CWSC', u8 version, i32 models count, then for every model:
+ * modified UTF-8 component id, f32 x 3 position, f32 x 4 rotation (x, y, z, w), f32 x 3 scale.
+ */
+class SceneSnapshot {
+
+    private static final String TAG = SceneSnapshot.class.getSimpleName();
+
+    private static final int MAGIC = 0x43575343; // 'CWSC'
+
+    private static final int VERSION = 1;
+
+    private static final String DIRECTORY_NAME = "cwflutter_scenes";
+
+    private static final String FILE_EXTENSION = ".cwscene";
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_\\-]{1,64}");
+
+    static class Model {
+
+        @NonNull
+        final String componentId;
+
+        @NonNull
+        final Vector3 position;
+
+        @NonNull
+        final Quaternion rotation;
+
+        @NonNull
+        final Vector3 scale;
+
+        Model(@NonNull String componentId, @NonNull Vector3 position, @NonNull Quaternion rotation, @NonNull Vector3 scale) {
+            this.componentId = componentId;
+            this.position = position;
+            this.rotation = rotation;
+            this.scale = scale;
+        }
+    }
+
+    private SceneSnapshot() {
+    }
+
+    static boolean isValidName(@NonNull String name) {
+        return NAME_PATTERN.matcher(name).matches();
+    }
+
+    @NonNull
+    static File fileOf(@NonNull Context context, @NonNull String name) {
+        return new File(new File(context.getFilesDir(), DIRECTORY_NAME), name + FILE_EXTENSION);
+    }
+
+    static void write(@NonNull File file, @NonNull List<Model> models) throws IOException {
+        final File directory = file.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create '" + directory + "' directory.");
+        }
+
+        // Write to a temporary file first, so a crash never leaves a truncated snapshot.
+        final File tmpFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(models.size());
+
+            for (Model it : models) {
+                out.writeUTF(it.componentId);
+                writeVector(out, it.position);
+                out.writeFloat(it.rotation.x);
+                out.writeFloat(it.rotation.y);
+                out.writeFloat(it.rotation.z);
+                out.writeFloat(it.rotation.w);
+                writeVector(out, it.scale);
+            }
+        }
+
+        if (!tmpFile.renameTo(file)) {
+            tmpFile.delete();
+            throw new IOException("Unable to write '" + file + "' file.");
+        }
+    }
+
+    @NonNull
+    static List<Model> read(@NonNull File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("'" + file + "' is not a scene snapshot.");
+            }
+
+            final int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version (" + version + ") of scene snapshot.");
+            }
+
+            final int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Corrupted scene snapshot.");
+            }
+
+            final List<Model> result = new ArrayList<>(Math.min(count, 1024));
+            for (int i = 0; i < count; i++) {
+                final String componentId = in.readUTF();
+                final Vector3 position = readVector(in);
+                final Quaternion rotation = new Quaternion(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+                final Vector3 scale = readVector(in);
+                result.add(new Model(componentId, position, rotation, scale));
+            }
+
+            return result;
+        }
+    }
+
+    private static void writeVector(@NonNull DataOutputStream out, @NonNull Vector3 v) throws IOException {
+        out.writeFloat(v.x);
+        out.writeFloat(v.y);
+        out.writeFloat(v.z);
+    }
+
+    @NonNull
+    private static Vector3 readVector(@NonNull DataInputStream in) throws IOException {
+        return new Vector3(in.readFloat(), in.readFloat(), in.readFloat());
+    }
+}
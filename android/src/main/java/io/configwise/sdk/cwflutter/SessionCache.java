@@ -0,0 +1,126 @@
+package io.configwise.sdk.cwflutter;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.parse.ParseException;
+
+/**
+ * Remembers the last successful validation of the session (per company auth token), so repeat launches
+ * can confirm authentication from local state. The entry expires after {@link #ttlMillis}.
+ *
+ * Only a hash of the token is stored (to detect that the app is configured with another token).
+ */
+class SessionCache {
+
+    private static final String PREFERENCES_NAME = "cwflutter_session";
+
+    private static final String KEY_TOKEN_HASH = "tokenHash";
+    private static final String KEY_VALIDATED_AT = "validatedAt";
+
+    static final long DEFAULT_TTL_MILLIS = 24 * 60 * 60 * 1000;
+
+    /**
+     * Thrown if the backend answers, but there is no user for the credentials.
+     */
+    static class RejectedException extends RuntimeException {
+
+        RejectedException(@NonNull String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Returns true if the error means the backend rejected the credentials (the session must be dropped).
+     * Transport errors (no connection, timeouts, server errors) aren't rejections.
+     */
+    static boolean isRejection(@Nullable Throwable error) {
+        for (Throwable it = error; it != null; it = it.getCause()) {
+            if (it instanceof RejectedException) {
+                return true;
+            }
+
+            if (it instanceof ParseException) {
+                final int code = ((ParseException) it).getCode();
+                return code == ParseException.INVALID_SESSION_TOKEN
+                        || code == ParseException.SESSION_MISSING
+                        // Invalid username / password.
+                        || code == ParseException.OBJECT_NOT_FOUND;
+            }
+        }
+        return false;
+    }
+
+    @NonNull
+    private final SharedPreferences preferences;
+
+    private volatile long ttlMillis = DEFAULT_TTL_MILLIS;
+
+    SessionCache(@NonNull Context context) {
+        this.preferences = context.getApplicationContext()
+                .getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Set 0 to disable the cache (every signIn is validated against the backend).
+     */
+    void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = Math.max(0, ttlMillis);
+        if (this.ttlMillis == 0) {
+            clear();
+        }
+    }
+
+    /**
+     * Returns true if the session of the token has been validated within TTL.
+     */
+    boolean isValid(@Nullable String token) {
+        if (ttlMillis == 0 || token == null || token.isEmpty()) {
+            return false;
+        }
+
+        final String tokenHash = preferences.getString(KEY_TOKEN_HASH, null);
+        if (tokenHash == null || !tokenHash.equals(hash(token))) {
+            return false;
+        }
+
+        // Wall clock - the entry must survive restarts of the device. A clock set back invalidates it.
+        final long age = System.currentTimeMillis() - preferences.getLong(KEY_VALIDATED_AT, 0);
+        return age >= 0 && age < ttlMillis;
+    }
+
+    void store(@NonNull String token) {
+        if (ttlMillis == 0) {
+            return;
+        }
+
+        preferences.edit()
+                .putString(KEY_TOKEN_HASH, hash(token))
+                .putLong(KEY_VALIDATED_AT, System.currentTimeMillis())
+                .apply();
+    }
+
+    void clear() {
+        preferences.edit().clear().apply();
+    }
+
+    @NonNull
+    private static String hash(@NonNull String token) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.encodeToString(digest, Base64.NO_WRAP);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is guaranteed on Android.
+            throw new IllegalStateException(e);
+        }
+    }
+}
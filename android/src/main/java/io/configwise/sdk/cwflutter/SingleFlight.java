@@ -0,0 +1,51 @@
+package io.configwise.sdk.cwflutter;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.parse.boltsinternal.Task;
+
+/**
+ * Coalesces concurrent identical requests (by key) into one underlying task.
+ *
+ * While a task for the key is in flight, every new caller receives the same task, so its
+ * result (or error) is fanned out to all of them. The key is forgotten once the task completes.
+ */
+class SingleFlight<K, V> {
+
+    interface Call<V> {
+        @NonNull
+        Task<V> call();
+    }
+
+    private final Map<K, Task<V>> inFlight = new HashMap<>();
+
+    @NonNull
+    Task<V> execute(@NonNull K key, @NonNull Call<V> call) {
+        synchronized (this) {
+            final Task<V> existing = inFlight.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            final Task<V> task = call.call();
+            if (task.isCompleted()) {
+                return task;
+            }
+
+            inFlight.put(key, task);
+            task.continueWith(it -> {
+                synchronized (this) {
+                    if (inFlight.get(key) == task) {
+                        inFlight.remove(key);
+                    }
+                }
+                return null;
+            });
+
+            return task;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package io.configwise.sdk.cwflutter;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.parse.boltsinternal.Task;
+
+/**
+ * Disk cache (in cacheDir) of downscaled images keyed by (fileKey, width, height).
+ *
+ * Missing thumbnails are made from the original file (downloaded via {@link DownloadScheduler}):
+ * it's decoded with inSampleSize (so the full-size bitmap is never allocated), scaled to fit
+ * within width x height (aspect ratio is kept, images are never upscaled) on
+ * {@link Utils#DECODE_EXECUTOR} and written as JPEG (PNG if the image has alpha).
+ * Cache hits are resolved on {@link Utils#IO_EXECUTOR}, so they don't wait behind decodings.
+ * Least recently used thumbnails are deleted once the cache exceeds {@link #MAX_SIZE_IN_BYTES}
+ * (sizes and LRU order are kept in memory, the directory is scanned once).
+ */
+class ThumbnailCache {
+
+    private static final String TAG = ThumbnailCache.class.getSimpleName();
+
+    private static final String DIRECTORY_NAME = "cwflutter_thumbnails";
+
+    private static final long MAX_SIZE_IN_BYTES = 32 * 1024 * 1024;
+
+    static final int MAX_DIMENSION = 4096;
+
+    private static final int JPEG_QUALITY = 85;
+
+    @NonNull
+    private final File directory;
+
+    // Concurrent requests of the same thumbnail share one decoding.
+    private final SingleFlight<String, File> inFlight = new SingleFlight<>();
+
+    // key -> size of the thumbnail. Access-ordered: the eldest entry is the least recently used one.
+    // Loaded lazily from the directory (see ensureLoaded()).
+    @Nullable
+    private LinkedHashMap<String, Long> entries;
+
+    private long sizeInBytes = 0;
+
+    ThumbnailCache(@NonNull Context context) {
+        this.directory = new File(context.getCacheDir(), DIRECTORY_NAME);
+    }
+
+    @NonNull
+    Task<File> obtainThumbnail(@NonNull String fileKey, int width, int height, int priority) {
+        final String key = keyOf(fileKey, width, height);
+
+        return inFlight.execute(key, () -> Task.call(() -> lookup(key), Utils.IO_EXECUTOR).onSuccessTask(task -> {
+            if (task.getResult() != null) {
+                return Task.forResult(task.getResult());
+            }
+
+            return DownloadScheduler.getInstance().download(fileKey, priority)
+                    .onSuccess(downloadTask -> write(downloadTask.getResult(), key, width, height), Utils.DECODE_EXECUTOR);
+        }));
+    }
+
+    @NonNull
+    private File write(@NonNull File source, @NonNull String key, int width, int height) throws IOException {
+        final Bitmap bitmap = decode(source, width, height);
+        if (bitmap == null) {
+            throw new IOException("Unable to decode image '" + source.getName() + "'.");
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory '" + directory + "'.");
+        }
+
+        final File file = new File(directory, key);
+        final File tmpFile = new File(directory, key + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmpFile)) {
+            final boolean compressed = bitmap.hasAlpha()
+                    ? bitmap.compress(Bitmap.CompressFormat.PNG, 100, out)
+                    : bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, out);
+            if (!compressed) {
+                throw new IOException("Unable to encode thumbnail '" + key + "'.");
+            }
+        } finally {
+            bitmap.recycle();
+        }
+
+        if (!tmpFile.renameTo(file)) {
+            tmpFile.delete();
+            throw new IOException("Unable to write thumbnail '" + key + "'.");
+        }
+
+        stored(key, file.length());
+        return file;
+    }
+
+    @Nullable
+    private synchronized File lookup(@NonNull String key) {
+        final Map<String, Long> entries = ensureLoaded();
+
+        // get() moves the entry to the end of LRU order.
+        final Long size = entries.get(key);
+        if (size == null) {
+            return null;
+        }
+
+        final File file = new File(directory, key);
+        if (!file.exists()) {
+            // Removed by the system (eg: cacheDir is cleared).
+            entries.remove(key);
+            sizeInBytes -= size;
+            return null;
+        }
+
+        // Keep LRU order for the next process.
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    private synchronized void stored(@NonNull String key, long size) {
+        final Map<String, Long> entries = ensureLoaded();
+
+        final Long previous = entries.put(key, size);
+        sizeInBytes += size - (previous != null ? previous : 0);
+
+        trim(key);
+    }
+
+    @NonNull
+    private LinkedHashMap<String, Long> ensureLoaded() {
+        if (entries != null) {
+            return entries;
+        }
+
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+        sizeInBytes = 0;
+
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+            for (File it : files) {
+                if (it.getName().endsWith(".tmp")) {
+                    // Left by an interrupted write of the previous process.
+                    it.delete();
+                    continue;
+                }
+
+                entries.put(it.getName(), it.length());
+                sizeInBytes += it.length();
+            }
+        }
+
+        return entries;
+    }
+
+    @Nullable
+    private static Bitmap decode(@NonNull File source, int width, int height) {
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(source.getAbsolutePath(), options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+
+        // Scale to fit within width x height (never upscale).
+        final float scale = Math.min(1f, Math.min(
+                (float) width / options.outWidth,
+                (float) height / options.outHeight
+        ));
+        final int targetWidth = Math.max(1, Math.round(options.outWidth * scale));
+        final int targetHeight = Math.max(1, Math.round(options.outHeight * scale));
+
+        // The largest power of 2 which keeps the sampled image not smaller than the target.
+        int inSampleSize = 1;
+        while (options.outWidth / (inSampleSize * 2) >= targetWidth
+                && options.outHeight / (inSampleSize * 2) >= targetHeight) {
+            inSampleSize *= 2;
+        }
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = inSampleSize;
+        final Bitmap sampled = BitmapFactory.decodeFile(source.getAbsolutePath(), options);
+        if (sampled == null) {
+            return null;
+        }
+
+        if (sampled.getWidth() == targetWidth && sampled.getHeight() == targetHeight) {
+            return sampled;
+        }
+
+        final Bitmap scaled = Bitmap.createScaledBitmap(sampled, targetWidth, targetHeight, true);
+        if (scaled != sampled) {
+            sampled.recycle();
+        }
+        return scaled;
+    }
+
+    /**
+     * Deletes least recently used thumbnails (except the just written one, its path is about to be
+     * returned) until the cache fits into MAX_SIZE_IN_BYTES.
+     */
+    private void trim(@NonNull String writtenKey) {
+        if (entries == null || sizeInBytes <= MAX_SIZE_IN_BYTES) {
+            return;
+        }
+
+        final Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (sizeInBytes > MAX_SIZE_IN_BYTES && iterator.hasNext()) {
+            final Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().equals(writtenKey)) {
+                continue;
+            }
+
+            final File file = new File(directory, entry.getKey());
+            if (!file.delete() && file.exists()) {
+                Log.w(TAG, "Unable to delete thumbnail '" + entry.getKey() + "'");
+                continue;
+            }
+
+            iterator.remove();
+            sizeInBytes -= entry.getValue();
+        }
+    }
+
+    @NonNull
+    private static String keyOf(@NonNull String fileKey, int width, int height) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest(fileKey.getBytes(StandardCharsets.UTF_8));
+
+            final StringBuilder result = new StringBuilder();
+            for (byte it : digest) {
+                result.append(String.format("%02x", it));
+            }
+            return result.append('_').append(width).append('x').append(height).toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-1 is guaranteed on Android.
+            throw new IllegalStateException(e);
+        }
+    }
+}
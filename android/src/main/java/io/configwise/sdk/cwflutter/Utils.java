@@ -2,8 +2,10 @@ package io.configwise.sdk.cwflutter;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.os.Process;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.google.ar.sceneform.math.Vector3;
 
@@ -11,6 +13,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import io.configwise.sdk.domain.AppListItemEntity;
 import io.configwise.sdk.domain.ComponentEntity;
@@ -19,39 +24,129 @@ class Utils {
 
     public static final String TAG = Utils.class.getSimpleName();
 
+    /**
+     * Background executor to convert SDK entities into channel maps (serialize*Entity() functions)
+     * and to filter them, so large lists don't block the UI thread.
+     * Post only the final result.success() back to the UI thread (Task.UI_THREAD_EXECUTOR).
+     */
+    public static final ExecutorService SERIALIZATION_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "cwflutter-serialization");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Background executor for disk IO of the plugin (eg: local indexes), which must not block
+     * neither UI thread nor serialization.
+     */
+    public static final ExecutorService IO_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "cwflutter-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Background pool to decode and downscale images (see ThumbnailCache). Decoding is CPU bound,
+     * so a couple of threads keep grids responsive without starving other executors.
+     */
+    public static final ExecutorService DECODE_EXECUTOR = Executors.newFixedThreadPool(2, runnable -> {
+        final Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "cwflutter-decode");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Shared handler of main UI thread (to avoid allocation of a Handler per posted runnable).
+     */
+    public static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    public static boolean isMainThread() {
+        return Thread.currentThread() == Looper.getMainLooper().getThread();
+    }
+
     public static void checkOnMainThread() throws IllegalStateException {
-        if (Thread.currentThread() != Looper.getMainLooper().getThread()) {
+        if (!isMainThread()) {
             throw new IllegalStateException("This method must be executed from main UI thread");
         }
     }
 
     public static void runOnUiThread(@NonNull Runnable runnable) {
-        new Handler(Looper.getMainLooper()).post(runnable);
+        MAIN_HANDLER.post(runnable);
+    }
+
+    /**
+     * Runs the runnable immediately if invoked from main UI thread, otherwise posts it to main UI thread.
+     *
+     * NOTICE: Unlike {@link #runOnUiThread(Runnable)} the runnable may run before the caller returns,
+     * use it only where such re-entrancy is expected (eg: queueing of batched channel calls).
+     */
+    public static void runOnUiThreadOrNow(@NonNull Runnable runnable) {
+        if (isMainThread()) {
+            runnable.run();
+        } else {
+            MAIN_HANDLER.post(runnable);
+        }
     }
 
     public static void runOnUiThreadDelayed(@NonNull Runnable runnable, long delayMillis) {
-        new Handler(Looper.getMainLooper()).postDelayed(runnable, delayMillis);
+        MAIN_HANDLER.postDelayed(runnable, delayMillis);
     }
 
     public static Map<String, ?> serializeComponentEntity(@NonNull ComponentEntity component) {
+        return serializeComponentEntity(component, null);
+    }
+
+    /**
+     * Serializes requested fields only (all fields if fields is null).
+     */
+    public static Map<String, ?> serializeComponentEntity(@NonNull ComponentEntity component, @Nullable Set<String> fields) {
         final Map<String, Object> result = new HashMap<>();
 
-        result.put("id", component.getObjectId());
+        if (fields == null || fields.contains("id")) {
+            result.put("id", component.getObjectId());
+        }
 
         final ComponentEntity parent = component.getParent();
-        result.put("parent_id", parent != null ? parent.getObjectId() : "");
+        if (fields == null || fields.contains("parent_id")) {
+            result.put("parent_id", parent != null ? parent.getObjectId() : "");
+        }
 
-        result.put("genericName", component.getGenericName());
-        result.put("description", component.getDescription());
-        result.put("productNumber", component.getProductNumber());
-        result.put("productLink", component.getProductLink());
-        result.put("isFloating", component.isFloating());
+        if (fields == null || fields.contains("genericName")) {
+            result.put("genericName", component.getGenericName());
+        }
+        if (fields == null || fields.contains("description")) {
+            result.put("description", component.getDescription());
+        }
+        if (fields == null || fields.contains("productNumber")) {
+            result.put("productNumber", component.getProductNumber());
+        }
+        if (fields == null || fields.contains("productLink")) {
+            result.put("productLink", component.getProductLink());
+        }
+        if (fields == null || fields.contains("isFloating")) {
+            result.put("isFloating", component.isFloating());
+        }
 
-        final String thumbnailFileKey = component.getThumbnailFilePath();
-        result.put("thumbnailFileKey", thumbnailFileKey != null ? thumbnailFileKey : "");
+        if (fields == null || fields.contains("thumbnailFileKey")) {
+            final String thumbnailFileKey = component.getThumbnailFilePath();
+            result.put("thumbnailFileKey", thumbnailFileKey != null ? thumbnailFileKey : "");
+        }
 
-        result.put("totalSize", component.getTotalSize());
-        result.put("isVariance", parent != null);
+        if (fields == null || fields.contains("totalSize")) {
+            result.put("totalSize", component.getTotalSize());
+        }
+        if (fields == null || fields.contains("isVariance")) {
+            result.put("isVariance", parent != null);
+        }
 
         return result;
     }
@@ -0,0 +1,131 @@
+// Frame-time benchmark of Cwflutter.obtainAllComponents() with a large catalog.
+//
+// Components are obtained page by page while the screen is animated, so the timeline shows
+// whether decoding of platform channel results (and native serialization) drops frames.
+//
+// Run on a device (profile mode) with the token of a company which has a large catalog:
+//
+//   flutter drive --profile \
+//     --driver=test_driver/perf_driver.dart \
+//     --target=integration_test/obtain_all_components_benchmark_test.dart \
+//     --dart-define=CW_AUTH_TOKEN=YOUR_ANDROID_COMPANY_AUTH_TOKEN
+//
+// Timeline summaries (build / raster frame times, missed frames) are written to build/*.timeline_summary.json.
+//
+// NOTICE: No baseline / result numbers have been recorded yet (the benchmark hasn't been run).
+
+import 'package:cwflutter/cwflutter.dart';
+import 'package:flutter/material.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:integration_test/integration_test.dart';
+
+const String _authToken = String.fromEnvironment('CW_AUTH_TOKEN');
+
+const int _pageSize = 500;
+
+// Up to 10000 components.
+const int _maxPages = 20;
+
+void main() {
+  final binding = IntegrationTestWidgetsFlutterBinding.ensureInitialized() as IntegrationTestWidgetsFlutterBinding;
+  // Frames are produced by the engine (as in the app), not by the test.
+  binding.framePolicy = LiveTestWidgetsFlutterBindingFramePolicy.fullyLive;
+
+  setUpAll(() async {
+    expect(_authToken, isNotEmpty, reason: "Pass the company auth token by --dart-define=CW_AUTH_TOKEN=...");
+
+    final isInitialized = await Cwflutter.initialize(
+        _authToken,
+        1 * 60 * 60,       // 1 hr
+        400 * 1024 * 1024, // 400 Mb
+        true
+    );
+    expect(isInitialized, isTrue);
+    expect(await Cwflutter.signIn(), isTrue);
+  });
+
+  Future<void> benchmark(WidgetTester tester, String reportKey, {bool binary}) async {
+    await tester.pumpWidget(_AnimatedPage());
+    await tester.pump(const Duration(milliseconds: 500));
+
+    int count = 0;
+    await binding.traceAction(() async {
+      for (int page = 0; page < _maxPages; page++) {
+        final components = await Cwflutter.obtainAllComponents(page * _pageSize, _pageSize, binary: binary);
+        count += components.length;
+        if (components.length < _pageSize) {
+          break;
+        }
+      }
+    }, reportKey: reportKey);
+
+    expect(count, greaterThan(0), reason: "The catalog is empty.");
+    binding.reportData[reportKey + '_components'] = {'count': count};
+  }
+
+  testWidgets('obtainAllComponents (maps)', (WidgetTester tester) async {
+    await benchmark(tester, 'obtain_all_components', binary: false);
+  });
+
+  testWidgets('obtainAllComponents (binary)', (WidgetTester tester) async {
+    await benchmark(tester, 'obtain_all_components_binary', binary: true);
+  });
+}
+
+/// Keeps frames going: scrolls a list back and forth and spins a progress indicator.
+class _AnimatedPage extends StatefulWidget {
+  @override
+  _AnimatedPageState createState() => _AnimatedPageState();
+}
+
+class _AnimatedPageState extends State<_AnimatedPage> with SingleTickerProviderStateMixin {
+
+  AnimationController _animationController;
+
+  final ScrollController _scrollController = ScrollController();
+
+  @override
+  void initState() {
+    super.initState();
+
+    _animationController = AnimationController(vsync: this, duration: const Duration(seconds: 2))
+      ..addListener(() {
+        if (_scrollController.hasClients) {
+          _scrollController.jumpTo(_animationController.value * _scrollController.position.maxScrollExtent);
+        }
+      })
+      ..repeat(reverse: true);
+  }
+
+  @override
+  void dispose() {
+    _animationController.dispose();
+    _scrollController.dispose();
+    super.dispose();
+  }
+
+  @override
+  Widget build(BuildContext context) {
+    return MaterialApp(
+      home: Scaffold(
+        appBar: AppBar(
+          title: const Text('obtainAllComponents benchmark'),
+          actions: <Widget>[
+            Padding(
+              padding: const EdgeInsets.all(16),
+              child: CircularProgressIndicator(),
+            ),
+          ],
+        ),
+        body: ListView.builder(
+          controller: _scrollController,
+          itemCount: 200,
+          itemBuilder: (context, index) => ListTile(
+            leading: CircleAvatar(child: Text('$index')),
+            title: Text('Item $index'),
+          ),
+        ),
+      ),
+    );
+  }
+}
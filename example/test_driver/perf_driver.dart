@@ -0,0 +1,25 @@
+import 'package:flutter_driver/flutter_driver.dart' as driver;
+import 'package:integration_test/integration_test_driver.dart';
+
+/// Writes timelines traced by the benchmarks of integration_test/ and their summaries to build/.
+Future<void> main() {
+  return integrationDriver(
+    responseDataCallback: (Map<String, dynamic> data) async {
+      if (data == null) {
+        return;
+      }
+
+      for (final key in data.keys) {
+        final value = data[key];
+        if (value is! Map<String, dynamic> || !value.containsKey('traceEvents')) {
+          // Not a timeline (eg: number of obtained components).
+          continue;
+        }
+
+        final timeline = driver.Timeline.fromJson(value);
+        final summary = driver.TimelineSummary.summarize(timeline);
+        await summary.writeTimelineToFile(key, pretty: true, includeSummary: true);
+      }
+    },
+  );
+}
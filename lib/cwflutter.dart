@@ -2,18 +2,45 @@ import 'dart:async';
 
 import 'package:flutter/foundation.dart';
 import 'package:cwflutter/domain/app_list_item_entity.dart';
+import 'package:cwflutter/utils/catalog_codec.dart';
 import 'package:cwflutter/widget/ar_configuration.dart';
 import 'package:flutter/services.dart';
 
+import 'domain/bootstrap_event.dart';
 import 'domain/component_entity.dart';
+import 'domain/component_filter.dart';
+import 'domain/component_lookup_result.dart';
+import 'domain/components_chunk.dart';
+import 'domain/entity_changes.dart';
+import 'domain/memory_pressure_event.dart';
+import 'domain/performance_stats.dart';
+import 'domain/prefetch_progress.dart';
 
 class Cwflutter {
   static const MethodChannel _channel = const MethodChannel('cwflutter');
 
+  static const EventChannel _componentsChannel = const EventChannel('cwflutter/components');
+
+  static const EventChannel _prefetchChannel = const EventChannel('cwflutter/prefetch');
+
+  static const EventChannel _performanceChannel = const EventChannel('cwflutter/performance');
+
+  static const EventChannel _memoryChannel = const EventChannel('cwflutter/memory');
+
+  static const EventChannel _bootstrapChannel = const EventChannel('cwflutter/bootstrap');
+
   static AuthState authState = AuthState.unauthorized;
 
-  Cwflutter._() {
-    _channel.setMethodCallHandler(_platformCallHandler);
+  static bool _platformCallHandlerSet = false;
+
+  Cwflutter._();
+
+  /// Platform calls (eg: 'onSignOut') are handled once the plugin is initialized.
+  static void _ensurePlatformCallHandler() {
+    if (!_platformCallHandlerSet) {
+      _channel.setMethodCallHandler(_platformCallHandler);
+      _platformCallHandlerSet = true;
+    }
   }
 
   static Future<String> get platformVersion async {
@@ -27,18 +54,32 @@ class Cwflutter {
     });
   }
 
+  /// [componentCacheTtl] (secs) and [componentCacheMaxSize] (bytes) configure the in-memory
+  /// cache of components used by [obtainComponentById] and [ArController.addModel] (Android only).
+  /// Set [componentCacheTtl] to 0 to disable caching. The cache is dropped on memory pressure (see [memoryPressure]).
+  /// [sessionCacheTtl] (secs, 24 hours by default) is how long a validated session is trusted by [signIn]
+  /// without a network round-trip (Android only). Set it to 0 to disable the session cache.
   static Future<bool> initialize(
       String authToken,
       int dbAccessPeriod,
       int androidLowMemoryThreshold,
-      bool lightEstimateEnabled
+      bool lightEstimateEnabled,
+      {
+        int componentCacheTtl,
+        int componentCacheMaxSize,
+        int sessionCacheTtl
+      }
   ) {
+    _ensurePlatformCallHandler();
     if (defaultTargetPlatform == TargetPlatform.android) { // ConfigWiseSDK_1X
       return _channel.invokeMethod<bool>('initialize', {
         'companyAuthToken': authToken,
         'dbAccessPeriod': dbAccessPeriod,
         'androidLowMemoryThreshold': androidLowMemoryThreshold,
-        'lightEstimateEnabled': lightEstimateEnabled
+        'lightEstimateEnabled': lightEstimateEnabled,
+        'componentCacheTtl': componentCacheTtl,
+        'componentCacheMaxSize': componentCacheMaxSize,
+        'sessionCacheTtl': sessionCacheTtl
       });
     } else if (defaultTargetPlatform == TargetPlatform.iOS) { // ConfigWiseSDK_2X
       return _channel.invokeMethod<bool>('initialize', {
@@ -49,7 +90,59 @@ class Cwflutter {
     }
   }
 
+  /// Non-blocking alternative of [initialize] + [signIn] (Android only): the local index is opened in background
+  /// in parallel with initialization of ConfigWise SDK (on the main thread), then the session is restored (or signed in).
+  /// Set [warmUpCatalog] to build the search index and load the root level of app list items after that.
+  /// Progress of every stage is emitted to [bootstrapEvents]. Returns durations (msecs) of completed
+  /// stages and 'total'; the catalog warm-up isn't awaited.
+  static Future<Map<String, int>> bootstrap(
+      String authToken,
+      int dbAccessPeriod,
+      int androidLowMemoryThreshold,
+      bool lightEstimateEnabled,
+      {
+        int componentCacheTtl,
+        int componentCacheMaxSize,
+        int sessionCacheTtl,
+        bool warmUpCatalog = false
+      }
+  ) async {
+    _ensurePlatformCallHandler();
+    if (defaultTargetPlatform != TargetPlatform.android) {
+      return Future.error("Unable to bootstrap ConfigWiseSDK due unsupported platform. Android platform is supported only.");
+    }
+
+    authState = AuthState.inProgress;
+    try {
+      final invocationResult = await _channel.invokeMethod('bootstrap', {
+        'companyAuthToken': authToken,
+        'dbAccessPeriod': dbAccessPeriod,
+        'androidLowMemoryThreshold': androidLowMemoryThreshold,
+        'lightEstimateEnabled': lightEstimateEnabled,
+        'componentCacheTtl': componentCacheTtl,
+        'componentCacheMaxSize': componentCacheMaxSize,
+        'sessionCacheTtl': sessionCacheTtl,
+        'warmUpCatalog': warmUpCatalog
+      });
+      authState = AuthState.authorised;
+      return Map<String, int>.from(invocationResult);
+    } on PlatformException catch (e) {
+      authState = AuthState.unauthorized;
+      return Future.error(e.message);
+    }
+  }
+
+  /// Emits start / completion of stages of [bootstrap] (events of the current run are replayed on listen).
+  static Stream<BootstrapEvent> get bootstrapEvents {
+    return _bootstrapChannel.receiveBroadcastStream()
+        .map((event) => BootstrapEvent.fromJson(Map<dynamic, dynamic>.from(event)));
+  }
+
+  /// On Android a session validated within `sessionCacheTtl` (see [initialize]) is confirmed locally
+  /// and revalidated in background; [authState] becomes [AuthState.unauthorized] if backend rejects the credentials
+  /// (network errors keep the cached session till it expires).
   static Future<bool> signIn() async {
+    _ensurePlatformCallHandler();
     authState = AuthState.inProgress;
     try {
       bool result = await _channel.invokeMethod<bool>('signIn');
@@ -61,25 +154,59 @@ class Cwflutter {
     }
   }
 
-  static Future<String> obtainFile(String fileKey) async {
+  /// Use [DownloadPriority.high] for files the user waits for right now (eg: a file the user has just tapped),
+  /// they are started before queued downloads and one download slot is always kept free for them (Android only).
+  /// NOTICE: 3D models added by [ArController.addModel] are downloaded by ConfigWise SDK, not by this scheduler.
+  static Future<String> obtainFile(String fileKey, {DownloadPriority priority = DownloadPriority.normal}) async {
     return _channel.invokeMethod<String>('obtainFile', {
       'file_key': fileKey,
+      'priority': priority.index
     }).then((value) {
       return value;
     });
   }
 
-  static Future<List<ComponentEntity>> obtainAllComponents(int offset, int max) async {
+  /// Returns path of the image of [fileKey] (eg: `thumbnailFileKey`, `imageFileKey`) downscaled to fit
+  /// within [width] x [height] physical pixels (up to 4096, aspect ratio is kept), so grids don't decode
+  /// full-size originals. Thumbnails are cached on disk per (fileKey, size) (Android only).
+  static Future<String> obtainThumbnail(String fileKey, int width, int height, {DownloadPriority priority = DownloadPriority.normal}) async {
+    return _channel.invokeMethod<String>('obtainThumbnail', {
+      'file_key': fileKey,
+      'width': width,
+      'height': height,
+      'priority': priority.index
+    });
+  }
+
+  /// Set [binary] to receive entities in the compact columnar encoding (see [CatalogCodec]),
+  /// which is smaller and faster for large lists (Android only).
+  ///
+  /// Use [filter] and [fields] (names of [ComponentEntity] fields, other fields are null) to obtain
+  /// only rows and columns you need, they are applied before entities are passed through the platform
+  /// channel (Android only). NOTICE: [filter] is applied to the page ([offset], [max]), so the result
+  /// can contain less than [max] entities.
+  static Future<List<ComponentEntity>> obtainAllComponents(
+      int offset,
+      int max,
+      {
+        bool binary = false,
+        ComponentFilter filter,
+        List<String> fields
+      }
+  ) async {
     final invocationResult = await _channel.invokeMethod('obtainAllComponents', {
       'offset': offset,
-      'max': max
+      'max': max,
+      'binary': binary,
+      'filter': filter?.toJson(),
+      'fields': fields
     });
     if (invocationResult == null) {
       return [];
     }
 
     List<ComponentEntity> entities = List<ComponentEntity>();
-    for (final it in invocationResult.toList()) {
+    for (final it in _decodeList(invocationResult)) {
       final json = Map<dynamic, dynamic>.from(it);
       entities.add(ComponentEntity.fromJson(json));
     }
@@ -87,6 +214,18 @@ class Cwflutter {
     return entities;
   }
 
+  /// Streams all components of the current catalog in chunks of [chunkSize] entities.
+  ///
+  /// Use [ComponentsChunk.nextCursor] of the last received chunk as [cursor] to resume
+  /// an interrupted stream. Only one stream can be active at a time - listening again
+  /// cancels the previous one.
+  static Stream<ComponentsChunk> streamAllComponents({int cursor = 0, int chunkSize = 100}) {
+    return _componentsChannel.receiveBroadcastStream({
+      'cursor': cursor,
+      'chunkSize': chunkSize
+    }).map((event) => ComponentsChunk.fromJson(Map<dynamic, dynamic>.from(event)));
+  }
+
   static Future<ComponentEntity> obtainComponentById(String id) async {
     return _channel.invokeMethod<Map<dynamic, dynamic>>('obtainComponentById', {
       'id': id,
@@ -99,18 +238,181 @@ class Cwflutter {
     });
   }
 
-  static Future<List<AppListItemEntity>> obtainAllAppListItems(String parentId, int offset, int max) async {
+  /// Obtains components by [ids] in a single platform call.
+  ///
+  /// Returned list keeps order of [ids]. Lookup of every id succeeds or fails separately,
+  /// see [ComponentLookupResult.error].
+  static Future<List<ComponentLookupResult>> obtainComponentsByIds(List<String> ids) async {
+    final invocationResult = await _channel.invokeMethod('obtainComponentsByIds', {
+      'ids': ids,
+    });
+    if (invocationResult == null) {
+      return [];
+    }
+
+    List<ComponentLookupResult> results = List<ComponentLookupResult>();
+    for (final it in invocationResult.toList()) {
+      final json = Map<dynamic, dynamic>.from(it);
+      results.add(ComponentLookupResult.fromJson(json));
+    }
+
+    return results;
+  }
+
+  /// Resolves given components (into the component cache) and downloads their thumbnails in background.
+  /// Returns id of the prefetch job.
+  ///
+  /// NOTICE: 3D model files aren't prefetched (they are downloaded by ConfigWise SDK when the model
+  /// is added to AR scene), so this doesn't shorten loading of models.
+  ///
+  /// Listen [prefetchProgress] to track progress of the job. Jobs with higher [priority] are
+  /// downloaded first (Android only).
+  static Future<int> prefetchComponents(List<String> ids, {DownloadPriority priority = DownloadPriority.low}) {
+    return _channel.invokeMethod<int>('prefetchComponents', {
+      'ids': ids,
+      'priority': priority.index
+    });
+  }
+
+  static Future<void> cancelPrefetch(int prefetchId) {
+    return _channel.invokeMethod<void>('cancelPrefetch', {
+      'prefetchId': prefetchId
+    });
+  }
+
+  /// Progress events of all prefetch jobs (see [PrefetchProgress.prefetchId]).
+  static Stream<PrefetchProgress> get prefetchProgress {
+    return _prefetchChannel.receiveBroadcastStream()
+        .map((event) => PrefetchProgress.fromJson(Map<dynamic, dynamic>.from(event)));
+  }
+
+  /// Searches components of the current catalog by [query] (matches words of `genericName`,
+  /// `productNumber` and `description`, query words can be prefixes). Result is ranked by relevance.
+  ///
+  /// The search index is built on the native side in background by the first search (Android only).
+  /// The search fails if the index can't be built completely (eg: network error or sign out meanwhile),
+  /// the next search builds it again.
+  static Future<List<ComponentEntity>> searchComponents(String query, {int limit = 20}) async {
+    final invocationResult = await _channel.invokeMethod('searchComponents', {
+      'query': query,
+      'limit': limit
+    });
+    if (invocationResult == null) {
+      return [];
+    }
+
+    List<ComponentEntity> entities = List<ComponentEntity>();
+    for (final it in invocationResult.toList()) {
+      final json = Map<dynamic, dynamic>.from(it);
+      entities.add(ComponentEntity.fromJson(json));
+    }
+
+    return entities;
+  }
+
+  /// The same as [searchComponents], but returns ranked ids of components only.
+  static Future<List<String>> searchComponentIds(String query, {int limit = 20}) async {
+    final invocationResult = await _channel.invokeMethod('searchComponents', {
+      'query': query,
+      'limit': limit,
+      'idsOnly': true
+    });
+    if (invocationResult == null) {
+      return [];
+    }
+
+    return List<String>.from(invocationResult);
+  }
+
+  /// Drops the cached component with given [id] (or all cached components if [id] is null),
+  /// so the next lookup requests it from ConfigWise SDK again.
+  static Future<void> invalidateComponentCache({String id}) {
+    return _channel.invokeMethod<void>('invalidateComponentCache', {
+      'id': id,
+    });
+  }
+
+  /// Builds AR scene view in advance, so the next [ArSceneView] opens faster (Android only).
+  ///
+  /// The scene is built once the main thread is idle (views can't be built in background), so the call doesn't
+  /// delay the current frame. The pre-warmed scene is released if it isn't used during [idleTimeout] (secs)
+  /// or on memory pressure.
+  /// Returns false if pre-warming is refused due memory pressure.
+  static Future<bool> prewarmArScene({int idleTimeout = 60}) {
+    return _channel.invokeMethod<bool>('prewarmArScene', {
+      'idleTimeout': idleTimeout,
+    });
+  }
+
+  static Future<void> releasePrewarmedArScene() {
+    return _channel.invokeMethod<void>('releasePrewarmedArScene');
+  }
+
+  /// Enables (or disables) collecting of per-method latency histograms on the native side (Android only).
+  /// Monitoring is disabled by default.
+  static Future<void> setPerformanceMonitoringEnabled(bool enabled) {
+    return _channel.invokeMethod<void>('setPerformanceMonitoringEnabled', {
+      'enabled': enabled,
+    });
+  }
+
+  /// Returns histograms collected since monitoring was enabled (or [resetPerformanceStats]) by method name.
+  /// Methods of [ArController] are prefixed by `ar.`.
+  static Future<Map<String, MethodPerformanceStats>> getPerformanceStats() async {
+    final invocationResult = await _channel.invokeMethod('getPerformanceStats');
+    if (invocationResult == null) {
+      return Map<String, MethodPerformanceStats>();
+    }
+
+    return MethodPerformanceStats.fromSnapshot(Map<dynamic, dynamic>.from(invocationResult));
+  }
+
+  static Future<void> resetPerformanceStats() {
+    return _channel.invokeMethod<void>('resetPerformanceStats');
+  }
+
+  /// Emits the same snapshot as [getPerformanceStats] every [interval] while listened.
+  static Stream<Map<String, MethodPerformanceStats>> performanceStats({Duration interval = const Duration(seconds: 5)}) {
+    return _performanceChannel.receiveBroadcastStream({
+      'intervalMillis': interval.inMilliseconds
+    }).map((event) => MethodPerformanceStats.fromSnapshot(Map<dynamic, dynamic>.from(event)));
+  }
+
+  /// Emits the current degradation level of the plugin on listen and then on every change (Android only).
+  static Stream<MemoryPressureEvent> get memoryPressure {
+    return _memoryChannel.receiveBroadcastStream()
+        .map((event) => MemoryPressureEvent.fromJson(Map<dynamic, dynamic>.from(event)));
+  }
+
+  /// Set [binary] to receive entities in the compact columnar encoding (see [CatalogCodec]),
+  /// which is smaller and faster for large lists (Android only).
+  ///
+  /// Whole levels ([offset] and [max] are null) are served from the local index on Android. Pages are applied
+  /// to all items of the level (invisible items are filtered out of the page afterwards) and obtained from
+  /// ConfigWise SDK, unless [paginateVisibleItems] is set - then [offset] and [max] are applied to visible
+  /// items of the local index (Android only).
+  static Future<List<AppListItemEntity>> obtainAllAppListItems(
+      String parentId,
+      int offset,
+      int max,
+      {
+        bool binary = false,
+        bool paginateVisibleItems = false
+      }
+  ) async {
     final invocationResult = await _channel.invokeMethod('obtainAllAppListItems', {
       'parent_id': parentId,
       'offset': offset,
-      'max': max
+      'max': max,
+      'binary': binary,
+      'paginateVisibleItems': paginateVisibleItems
     });
     if (invocationResult == null) {
       return [];
     }
 
     List<AppListItemEntity> entities = List<AppListItemEntity>();
-    for (final it in invocationResult.toList()) {
+    for (final it in _decodeList(invocationResult)) {
       final json = Map<dynamic, dynamic>.from(it);
       entities.add(AppListItemEntity.fromJson(json));
     }
@@ -118,7 +420,45 @@ class Cwflutter {
     return entities;
   }
 
-  Future<void> _platformCallHandler(MethodCall call) {
+  /// Returns components created, updated or deleted since [since] (use [EntityChanges.watermark] of the
+  /// previous call), so the catalog can be patched instead of re-listed (Android only).
+  /// Deleted components are detected among [knownIds] only; if [knownIds] is given, components which
+  /// aren't known are reported as created. Components without timestamps are never reported as updated.
+  ///
+  /// NOTICE: Only the platform channel traffic is reduced - the whole catalog is still obtained from
+  /// ConfigWise SDK on every call (there is no query by update time), the diff is computed natively.
+  static Future<EntityChanges<ComponentEntity>> obtainComponentChanges({DateTime since, List<String> knownIds}) async {
+    final invocationResult = await _channel.invokeMethod('obtainComponentChanges', {
+      'since': since?.millisecondsSinceEpoch ?? 0,
+      'knownIds': knownIds
+    });
+    return EntityChanges.fromJson<ComponentEntity>(
+        Map<dynamic, dynamic>.from(invocationResult),
+        (json) => ComponentEntity.fromJson(json)
+    );
+  }
+
+  /// The same as [obtainComponentChanges] for visible app list items of the level (Android only).
+  static Future<EntityChanges<AppListItemEntity>> obtainAppListItemChanges(String parentId, {DateTime since, List<String> knownIds}) async {
+    final invocationResult = await _channel.invokeMethod('obtainAppListItemChanges', {
+      'parent_id': parentId,
+      'since': since?.millisecondsSinceEpoch ?? 0,
+      'knownIds': knownIds
+    });
+    return EntityChanges.fromJson<AppListItemEntity>(
+        Map<dynamic, dynamic>.from(invocationResult),
+        (json) => AppListItemEntity.fromJson(json)
+    );
+  }
+
+  static List<dynamic> _decodeList(dynamic invocationResult) {
+    if (invocationResult is Uint8List) {
+      return CatalogCodec.decode(invocationResult);
+    }
+    return invocationResult.toList();
+  }
+
+  static Future<void> _platformCallHandler(MethodCall call) {
     try {
       switch (call.method) {
         case 'onSignOut':
@@ -139,3 +479,11 @@ enum AuthState {
   inProgress,
   authorised,
 }
+
+/// Priority of downloads requested through the plugin ([obtainFile], [obtainThumbnail], [prefetchComponents]).
+/// It doesn't apply to 3D models of AR scenes, they are downloaded by ConfigWise SDK.
+enum DownloadPriority {
+  low,
+  normal,
+  high,
+}
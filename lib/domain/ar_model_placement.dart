@@ -0,0 +1,43 @@
+import 'package:vector_math/vector_math_64.dart';
+
+/// Model of a component to add by [ArController.addModels].
+class ArModelPlacement {
+
+  final String componentId;
+
+  /// Null to place the model in front of the camera.
+  final Vector3 worldPosition;
+
+  ArModelPlacement(this.componentId, {this.worldPosition});
+}
+
+/// Result of a single model added by [ArController.addModels].
+class AddModelResult {
+
+  final String componentId;
+
+  /// Id of the added model (null if the model hasn't been added).
+  final String modelId;
+
+  /// True once the model is loaded and placed to the scene.
+  final bool isAdded;
+
+  /// Null if model has been added successfully.
+  final String error;
+
+  AddModelResult(
+      this.componentId,
+      this.modelId,
+      this.isAdded,
+      this.error
+  );
+
+  static AddModelResult fromJson(Map<dynamic, dynamic> json) {
+    return AddModelResult(
+      json["componentId"] as String,
+      json["modelId"] as String,
+      json["isAdded"] as bool,
+      json["error"] as String,
+    );
+  }
+}
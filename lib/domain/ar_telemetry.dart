@@ -0,0 +1,46 @@
+import 'performance_stats.dart';
+
+/// Rendering telemetry of an AR scene aggregated over [windowMillis] (see [ArController.setTelemetryEnabled]).
+class ArTelemetry {
+
+  final int windowMillis;
+
+  final int frameCount;
+
+  /// Frame times (microseconds).
+  final HistogramSummary frameTime;
+
+  /// Number of display frames missed during the window.
+  final int droppedFrames;
+
+  /// ARCore tracking state of the camera (`TRACKING`, `PAUSED`, `STOPPED`), null if unknown.
+  final String trackingState;
+
+  final int modelCount;
+
+  final int anchorCount;
+
+  ArTelemetry(
+      this.windowMillis,
+      this.frameCount,
+      this.frameTime,
+      this.droppedFrames,
+      this.trackingState,
+      this.modelCount,
+      this.anchorCount
+  );
+
+  double get fps => windowMillis > 0 ? frameCount * 1000 / windowMillis : 0.0;
+
+  static ArTelemetry fromJson(Map<dynamic, dynamic> json) {
+    return ArTelemetry(
+      json["windowMillis"] as int,
+      json["frameCount"] as int,
+      HistogramSummary.fromJson(Map<dynamic, dynamic>.from(json["frameTime"])),
+      json["droppedFrames"] as int,
+      json["trackingState"] as String,
+      json["modelCount"] as int,
+      json["anchorCount"] as int,
+    );
+  }
+}
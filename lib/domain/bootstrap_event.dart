@@ -0,0 +1,55 @@
+/// Stages of [Cwflutter.bootstrap].
+enum BootstrapStage {
+  /// ConfigWise SDK initialization.
+  sdk,
+
+  /// Opening of the local index of app list items.
+  localIndex,
+
+  /// Restoring of the session (or signing in).
+  session,
+
+  /// Optional warm-up of the catalog (search index, root level of app list items).
+  catalog,
+}
+
+enum BootstrapStageStatus {
+  started,
+  completed,
+  failed,
+}
+
+/// Event of [Cwflutter.bootstrapEvents] stream.
+class BootstrapEvent {
+
+  final BootstrapStage stage;
+
+  final BootstrapStageStatus status;
+
+  /// Duration of the stage (0 for [BootstrapStageStatus.started]).
+  final Duration duration;
+
+  /// Time since the start of bootstrap.
+  final Duration sinceStart;
+
+  /// Error message if the stage is failed.
+  final String error;
+
+  BootstrapEvent(
+      this.stage,
+      this.status,
+      this.duration,
+      this.sinceStart,
+      this.error
+  );
+
+  static BootstrapEvent fromJson(Map<dynamic, dynamic> json) {
+    return BootstrapEvent(
+      BootstrapStage.values.firstWhere((it) => it.toString() == 'BootstrapStage.${json["stage"]}'),
+      BootstrapStageStatus.values.firstWhere((it) => it.toString() == 'BootstrapStageStatus.${json["status"]}'),
+      Duration(milliseconds: json["durationMillis"] as int),
+      Duration(milliseconds: json["sinceStartMillis"] as int),
+      json["error"] as String,
+    );
+  }
+}
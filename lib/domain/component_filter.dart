@@ -0,0 +1,27 @@
+/// Filter of components applied on the native side (see [Cwflutter.obtainAllComponents]).
+///
+/// Null criteria are ignored.
+class ComponentFilter {
+
+  /// Case-insensitive prefix of [ComponentEntity.genericName].
+  final String genericNamePrefix;
+
+  final bool isFloating;
+
+  /// Set true to obtain variances only, false - to obtain base components only.
+  final bool isVariance;
+
+  const ComponentFilter({
+    this.genericNamePrefix,
+    this.isFloating,
+    this.isVariance
+  });
+
+  Map<String, dynamic> toJson() {
+    return {
+      'genericNamePrefix': genericNamePrefix,
+      'isFloating': isFloating,
+      'isVariance': isVariance,
+    };
+  }
+}
@@ -0,0 +1,31 @@
+import 'component_entity.dart';
+
+/// Result of a single id lookup made by [Cwflutter.obtainComponentsByIds].
+class ComponentLookupResult {
+
+  final String id;
+
+  /// Null if component not found or [error] occurred.
+  final ComponentEntity component;
+
+  /// Null if component has been obtained successfully.
+  final String error;
+
+  ComponentLookupResult(
+      this.id,
+      this.component,
+      this.error
+  );
+
+  bool get isSuccess => error == null;
+
+  static ComponentLookupResult fromJson(Map<dynamic, dynamic> json) {
+    final component = json["component"];
+
+    return ComponentLookupResult(
+      json["id"] as String,
+      component != null ? ComponentEntity.fromJson(Map<dynamic, dynamic>.from(component)) : null,
+      json["error"] as String,
+    );
+  }
+}
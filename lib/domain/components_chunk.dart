@@ -0,0 +1,36 @@
+import 'component_entity.dart';
+
+/// One chunk of components emitted by [Cwflutter.streamAllComponents].
+class ComponentsChunk {
+
+  final List<ComponentEntity> components;
+
+  /// Position (in the current catalog) of the first component of this chunk.
+  final int cursor;
+
+  /// Pass this value as `cursor` to resume streaming right after this chunk.
+  final int nextCursor;
+
+  final bool isLast;
+
+  ComponentsChunk(
+      this.components,
+      this.cursor,
+      this.nextCursor,
+      this.isLast
+  );
+
+  static ComponentsChunk fromJson(Map<dynamic, dynamic> json) {
+    List<ComponentEntity> components = List<ComponentEntity>();
+    for (final it in (json["items"] as List ?? [])) {
+      components.add(ComponentEntity.fromJson(Map<dynamic, dynamic>.from(it)));
+    }
+
+    return ComponentsChunk(
+      components,
+      json["cursor"] as int,
+      json["nextCursor"] as int,
+      json["isLast"] as bool,
+    );
+  }
+}
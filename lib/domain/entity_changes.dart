@@ -0,0 +1,42 @@
+/// Entities created, updated or deleted since a watermark
+/// (see [Cwflutter.obtainComponentChanges] and [Cwflutter.obtainAppListItemChanges]).
+class EntityChanges<T> {
+
+  final List<T> created;
+
+  final List<T> updated;
+
+  /// Ids of known entities which are removed (or not visible anymore).
+  final List<String> deleted;
+
+  /// Pass this value as `since` to the next call.
+  final DateTime watermark;
+
+  EntityChanges(
+      this.created,
+      this.updated,
+      this.deleted,
+      this.watermark
+  );
+
+  bool get isEmpty => created.isEmpty && updated.isEmpty && deleted.isEmpty;
+
+  static EntityChanges<T> fromJson<T>(Map<dynamic, dynamic> json, T Function(Map<dynamic, dynamic>) entityFromJson) {
+    List<T> created = List<T>();
+    for (final it in (json["created"] as List ?? [])) {
+      created.add(entityFromJson(Map<dynamic, dynamic>.from(it)));
+    }
+
+    List<T> updated = List<T>();
+    for (final it in (json["updated"] as List ?? [])) {
+      updated.add(entityFromJson(Map<dynamic, dynamic>.from(it)));
+    }
+
+    return EntityChanges<T>(
+      created,
+      updated,
+      List<String>.from(json["deleted"] as List ?? []),
+      DateTime.fromMillisecondsSinceEpoch(json["watermark"] as int),
+    );
+  }
+}
@@ -0,0 +1,42 @@
+/// Degradation levels of the plugin on memory pressure (every level includes the previous ones).
+enum MemoryPressureLevel {
+  normal,
+
+  /// Caches of the plugin are dropped.
+  dropCaches,
+
+  /// Prefetching is paused.
+  pausePrefetch,
+
+  /// Light estimation of AR scenes is turned off.
+  reduceQuality,
+
+  /// New models are refused with '507' error code.
+  refuseModels,
+}
+
+/// Event of [Cwflutter.memoryPressure] stream.
+class MemoryPressureEvent {
+
+  final MemoryPressureLevel level;
+
+  /// Used bytes of Java heap.
+  final int heapUsed;
+
+  /// Max bytes of Java heap.
+  final int heapMax;
+
+  MemoryPressureEvent(
+      this.level,
+      this.heapUsed,
+      this.heapMax
+  );
+
+  static MemoryPressureEvent fromJson(Map<dynamic, dynamic> json) {
+    return MemoryPressureEvent(
+      MemoryPressureLevel.values[json["level"] as int],
+      json["heapUsed"] as int,
+      json["heapMax"] as int,
+    );
+  }
+}
@@ -0,0 +1,78 @@
+/// Summary of a native latency / size histogram (see [Cwflutter.getPerformanceStats]).
+///
+/// Time metrics are in microseconds, `payloadSize` is in bytes. Percentiles are precise within 12.5%.
+class HistogramSummary {
+
+  final int count;
+
+  final int min;
+
+  final int max;
+
+  final double mean;
+
+  final int p50;
+
+  final int p90;
+
+  final int p99;
+
+  HistogramSummary(
+      this.count,
+      this.min,
+      this.max,
+      this.mean,
+      this.p50,
+      this.p90,
+      this.p99
+  );
+
+  static HistogramSummary fromJson(Map<dynamic, dynamic> json) {
+    return HistogramSummary(
+      json["count"] as int,
+      json["min"] as int,
+      json["max"] as int,
+      (json["mean"] as num).toDouble(),
+      json["p50"] as int,
+      json["p90"] as int,
+      json["p99"] as int,
+    );
+  }
+}
+
+/// Histograms of a plugin method by metric name: `total`, `sdk`, `serialization`, `uiHop`, `payloadSize`.
+class MethodPerformanceStats {
+
+  final String method;
+
+  final Map<String, HistogramSummary> metrics;
+
+  MethodPerformanceStats(this.method, this.metrics);
+
+  HistogramSummary get total => metrics["total"];
+
+  HistogramSummary get sdk => metrics["sdk"];
+
+  HistogramSummary get serialization => metrics["serialization"];
+
+  HistogramSummary get uiHop => metrics["uiHop"];
+
+  HistogramSummary get payloadSize => metrics["payloadSize"];
+
+  static MethodPerformanceStats fromJson(String method, Map<dynamic, dynamic> json) {
+    final metrics = Map<String, HistogramSummary>();
+    json.forEach((key, value) {
+      metrics[key as String] = HistogramSummary.fromJson(Map<dynamic, dynamic>.from(value));
+    });
+    return MethodPerformanceStats(method, metrics);
+  }
+
+  /// Converts { method: { metric: histogram } } snapshot of the native monitor.
+  static Map<String, MethodPerformanceStats> fromSnapshot(Map<dynamic, dynamic> json) {
+    final result = Map<String, MethodPerformanceStats>();
+    json.forEach((key, value) {
+      result[key as String] = MethodPerformanceStats.fromJson(key as String, Map<dynamic, dynamic>.from(value));
+    });
+    return result;
+  }
+}
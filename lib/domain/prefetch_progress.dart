@@ -0,0 +1,43 @@
+/// Aggregated progress of a prefetch job started by [Cwflutter.prefetchComponents].
+class PrefetchProgress {
+
+  final int prefetchId;
+
+  /// Number of files to download (known once [isResolved] is true).
+  final int total;
+
+  final int completed;
+
+  final int failed;
+
+  /// True once all components of the job have been resolved.
+  final bool isResolved;
+
+  final bool isCancelled;
+
+  final bool isDone;
+
+  PrefetchProgress(
+      this.prefetchId,
+      this.total,
+      this.completed,
+      this.failed,
+      this.isResolved,
+      this.isCancelled,
+      this.isDone
+  );
+
+  double get fraction => total > 0 ? (completed + failed) / total : (isDone ? 1.0 : 0.0);
+
+  static PrefetchProgress fromJson(Map<dynamic, dynamic> json) {
+    return PrefetchProgress(
+      json["prefetchId"] as int,
+      json["total"] as int,
+      json["completed"] as int,
+      json["failed"] as int,
+      json["isResolved"] as bool,
+      json["isCancelled"] as bool,
+      json["isDone"] as bool,
+    );
+  }
+}
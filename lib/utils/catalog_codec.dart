@@ -0,0 +1,110 @@
+import 'dart:convert';
+import 'dart:typed_data';
+
+/// Decodes catalog lists encoded by the compact columnar codec of the native side
+/// (see `CatalogCodec.java`).
+///
+/// Field names are stored once in the header, so every row is decoded into a map
+/// which shares the same set of keys (compatible with `fromJson()` of domain entities).
+class CatalogCodec {
+
+  static const int version = 1;
+
+  static const int _typeString = 0;
+  static const int _typeBool = 1;
+  static const int _typeInt = 2;
+
+  CatalogCodec._();
+
+  static List<Map<dynamic, dynamic>> decode(Uint8List bytes) {
+    final reader = _Reader(bytes);
+
+    final encodedVersion = reader.readByte();
+    if (encodedVersion != version) {
+      throw FormatException('Unsupported catalog encoding version: $encodedVersion');
+    }
+
+    final fieldCount = reader.readVarint();
+    final types = List<int>(fieldCount);
+    final names = List<String>(fieldCount);
+    for (var i = 0; i < fieldCount; i++) {
+      types[i] = reader.readByte();
+      names[i] = reader.readString();
+    }
+
+    final rowCount = reader.readVarint();
+    final rows = List<Map<dynamic, dynamic>>(rowCount);
+    for (var r = 0; r < rowCount; r++) {
+      final row = <dynamic, dynamic>{};
+      for (var i = 0; i < fieldCount; i++) {
+        switch (types[i]) {
+          case _typeString:
+            row[names[i]] = reader.readString();
+            break;
+
+          case _typeBool:
+            final value = reader.readByte();
+            row[names[i]] = value == 2 ? null : value == 1;
+            break;
+
+          case _typeInt:
+            row[names[i]] = reader.readInt64();
+            break;
+
+          default:
+            throw FormatException('Unsupported field type: ${types[i]}');
+        }
+      }
+      rows[r] = row;
+    }
+
+    return rows;
+  }
+}
+
+class _Reader {
+
+  final Uint8List _bytes;
+
+  final ByteData _data;
+
+  int _offset = 0;
+
+  _Reader(Uint8List bytes)
+      : _bytes = bytes,
+        _data = ByteData.view(bytes.buffer, bytes.offsetInBytes, bytes.lengthInBytes);
+
+  int readByte() {
+    return _data.getUint8(_offset++);
+  }
+
+  int readInt64() {
+    final value = _data.getInt64(_offset, Endian.big);
+    _offset += 8;
+    return value;
+  }
+
+  int readVarint() {
+    var result = 0;
+    var shift = 0;
+    while (true) {
+      final byte = readByte();
+      result |= (byte & 0x7F) << shift;
+      if ((byte & 0x80) == 0) {
+        return result;
+      }
+      shift += 7;
+    }
+  }
+
+  String readString() {
+    final length = readVarint();
+    if (length == 0) {
+      return null;
+    }
+
+    final value = utf8.decode(Uint8List.view(_bytes.buffer, _bytes.offsetInBytes + _offset, length - 1));
+    _offset += length - 1;
+    return value;
+  }
+}
@@ -1,3 +1,5 @@
+import 'package:cwflutter/domain/ar_model_placement.dart';
+import 'package:cwflutter/domain/ar_telemetry.dart';
 import 'package:cwflutter/domain/component_entity.dart';
 import 'package:cwflutter/utils/json_converters.dart';
 import 'package:flutter/foundation.dart';
@@ -92,6 +94,9 @@ class ArController {
 
   void Function(Vector3 worldPosition) onArFirstPlaneDetected;
 
+  /// Called every telemetry interval while telemetry is enabled (see [setTelemetryEnabled]).
+  void Function(ArTelemetry telemetry) onTelemetry;
+
   void dispose() {
     _channel?.invokeMethod<void>('dispose');
   }
@@ -124,6 +129,75 @@ class ArController {
     return _channel.invokeMethod<void>('removeModel', params);
   }
 
+  /// Adds models of several components in one call. Components are resolved concurrently.
+  ///
+  /// Completes once all models are loaded (or failed, models which aren't loaded in 2 minutes are reported
+  /// as failed). Returns results in the order of given [models] (Android only).
+  Future<List<AddModelResult>> addModels(List<ArModelPlacement> models) async {
+    final Map<dynamic, dynamic> params = <String, dynamic>{
+      'models': models.map((it) => <String, dynamic>{
+        'componentId': it.componentId,
+        'worldPosition': Vector3Converter().toJson(it.worldPosition)
+      }).toList()
+    };
+
+    final invocationResult = await _channel.invokeMethod('addModels', params);
+    if (invocationResult == null) {
+      return [];
+    }
+
+    List<AddModelResult> results = List<AddModelResult>();
+    for (final it in invocationResult.toList()) {
+      results.add(AddModelResult.fromJson(Map<dynamic, dynamic>.from(it)));
+    }
+
+    return results;
+  }
+
+  /// Removes several models in one call and returns number of removed models (Android only).
+  Future<int> removeModels(List<String> modelIds) {
+    final Map<dynamic, dynamic> params = <String, dynamic>{
+      'modelIds': modelIds
+    };
+
+    return _channel.invokeMethod<int>('removeModels', params);
+  }
+
+  /// Saves component ids and world transforms (position, rotation, scale) of all models of the scene
+  /// under given [name] (latin letters, digits, '_' or '-') in app storage.
+  ///
+  /// Returns number of saved models (Android only).
+  Future<int> exportScene(String name) {
+    final Map<dynamic, dynamic> params = <String, dynamic>{
+      'name': name
+    };
+
+    return _channel.invokeMethod<int>('exportScene', params);
+  }
+
+  /// Re-adds all models of the scene saved by [exportScene] in one pass and restores their transforms.
+  /// Models are loaded in parallel, but their files aren't prefetched (they are downloaded by ConfigWise SDK).
+  ///
+  /// Completes once all models are loaded (or failed, models which aren't loaded in 2 minutes are reported
+  /// as failed). Returns results in the order models were saved (Android only).
+  Future<List<AddModelResult>> importScene(String name) async {
+    final Map<dynamic, dynamic> params = <String, dynamic>{
+      'name': name
+    };
+
+    final invocationResult = await _channel.invokeMethod('importScene', params);
+    if (invocationResult == null) {
+      return [];
+    }
+
+    List<AddModelResult> results = List<AddModelResult>();
+    for (final it in invocationResult.toList()) {
+      results.add(AddModelResult.fromJson(Map<dynamic, dynamic>.from(it)));
+    }
+
+    return results;
+  }
+
   Future<void> removeSelectedModel() {
     return _channel.invokeMethod<void>('removeSelectedModel');
   }
@@ -132,6 +206,34 @@ class ArController {
     return _channel.invokeMethod<void>('resetSelection');
   }
 
+  /// Limits rate of [onModelLoadingProgress] events per model (Android only). Progress is reported on
+  /// whole percent change only, 0 and 100 are always reported. Set 0 to disable rate limit.
+  Future<void> setModelLoadingProgressThrottling({int maxEventsPerSecond = 10}) {
+    final Map<dynamic, dynamic> params = <String, dynamic>{
+      'maxEventsPerSecond': maxEventsPerSecond
+    };
+    return _channel.invokeMethod<void>('setModelLoadingProgressThrottling', params);
+  }
+
+  /// Limits number of anchor nodes of detected planes kept in the scene (16 by default). Nodes of least
+  /// recently detected planes (without placed models) are removed once the limit is exceeded (Android only).
+  Future<void> setMaxPlaneAnchors(int max) {
+    final Map<dynamic, dynamic> params = <String, dynamic>{
+      'max': max
+    };
+    return _channel.invokeMethod<void>('setMaxPlaneAnchors', params);
+  }
+
+  /// Enables (or disables) sampling of frames of the scene. Aggregated [ArTelemetry] is passed
+  /// to [onTelemetry] every [interval] (Android only).
+  Future<void> setTelemetryEnabled(bool enabled, {Duration interval = const Duration(seconds: 1)}) {
+    final Map<dynamic, dynamic> params = <String, dynamic>{
+      'enabled': enabled,
+      'intervalMillis': interval.inMilliseconds
+    };
+    return _channel.invokeMethod<void>('setTelemetryEnabled', params);
+  }
+
   Future<bool> setMeasurementShown(bool value) {
     final Map<dynamic, dynamic> params = <String, dynamic>{
       'value': value ?? false
@@ -142,6 +244,13 @@ class ArController {
   Future<void> _platformCallHandler(MethodCall call) {
     try {
       switch (call.method) {
+        case 'onBatch':
+          // Several events queued by the platform during a frame.
+          for (final it in call.arguments as List) {
+            _platformCallHandler(MethodCall(it['method'], it['arguments']));
+          }
+          break;
+
         case 'onError':
           if (onError != null) {
             print("[ERROR] ${call.arguments}");
@@ -181,6 +290,12 @@ class ArController {
           onModelLoadingProgress?.call(call.arguments['componentId'], call.arguments['progress']);
           break;
 
+        case 'onModelLoadingProgressBatch':
+          for (final it in call.arguments as List) {
+            onModelLoadingProgress?.call(it['componentId'], it['progress']);
+          }
+          break;
+
         case 'onSelectionReset':
           onSelectionReset?.call();
           break;
@@ -191,6 +306,10 @@ class ArController {
           );
           break;
 
+        case 'onTelemetry':
+          onTelemetry?.call(ArTelemetry.fromJson(Map<dynamic, dynamic>.from(call.arguments)));
+          break;
+
         default:
           print('[ERROR] Unknown method ${call.method}');
       }
@@ -0,0 +1,79 @@
+import 'dart:convert';
+import 'dart:typed_data';
+
+import 'package:flutter_test/flutter_test.dart';
+import 'package:cwflutter/utils/catalog_codec.dart';
+
+List<int> _string(String value) {
+  if (value == null) {
+    return [0];
+  }
+  final bytes = utf8.encode(value);
+  return [bytes.length + 1, ...bytes];
+}
+
+// Produced by CatalogCodec.encode() (android/.../CatalogCodec.java) for COMPONENT_FIELDS projected to
+// id, genericName, isFloating, totalSize (as row fields) and rows:
+//   { id: 'c1', genericName: 'é' x 70 + 'chair', isFloating: true, totalSize: 1234567890123 }
+//   { id: null, genericName: '', isFloating: null, totalSize: -1 }
+//   { id: 'ü', genericName: null, isFloating: false, totalSize: null }
+// Must be regenerated by the Java encoder if the layout changes.
+const List<int> _golden = [
+  0x01, 0x04, 0x00, 0x03, 0x69, 0x64, 0x00, 0x0c, 0x67, 0x65, 0x6e, 0x65,
+  0x72, 0x69, 0x63, 0x4e, 0x61, 0x6d, 0x65, 0x01, 0x0b, 0x69, 0x73, 0x46,
+  0x6c, 0x6f, 0x61, 0x74, 0x69, 0x6e, 0x67, 0x02, 0x0a, 0x74, 0x6f, 0x74,
+  0x61, 0x6c, 0x53, 0x69, 0x7a, 0x65, 0x03, 0x03, 0x63, 0x31, 0x92, 0x01,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9,
+  0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0xc3, 0xa9, 0x63, 0x68, 0x61, 0x69,
+  0x72, 0x01, 0x00, 0x00, 0x01, 0x1f, 0x71, 0xfb, 0x04, 0xcb, 0x00, 0x01,
+  0x02, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0x03, 0xc3, 0xbc,
+  0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00,
+];
+
+void main() {
+  test('decode golden bytes of the native encoder', () {
+    final rows = CatalogCodec.decode(Uint8List.fromList(_golden));
+    expect(rows.length, 3);
+    expect(rows[0], {
+      'id': 'c1',
+      'genericName': '${'é' * 70}chair', // 145 bytes, length is a 2-byte varint
+      'isFloating': true,
+      'totalSize': 1234567890123
+    });
+    expect(rows[1], {'id': null, 'genericName': '', 'isFloating': null, 'totalSize': -1});
+    // Null int is encoded as 0.
+    expect(rows[2], {'id': 'ü', 'genericName': null, 'isFloating': false, 'totalSize': 0});
+  });
+
+  test('decode', () {
+    final bytes = Uint8List.fromList([
+      CatalogCodec.version,
+      3, // fields
+      0, ..._string('id'),
+      1, ..._string('isFloating'),
+      2, ..._string('totalSize'),
+      2, // rows
+      ..._string('a'), 1, 0, 0, 0, 0, 0, 0, 1, 0,
+      ..._string(null), 2, 0, 0, 0, 0, 0, 0, 0, 42,
+    ]);
+
+    final rows = CatalogCodec.decode(bytes);
+    expect(rows.length, 2);
+    expect(rows[0], {'id': 'a', 'isFloating': true, 'totalSize': 256});
+    expect(rows[1], {'id': null, 'isFloating': null, 'totalSize': 42});
+  });
+
+  test('decode rejects unknown version', () {
+    expect(() => CatalogCodec.decode(Uint8List.fromList([99])), throwsFormatException);
+  });
+}
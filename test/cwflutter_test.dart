@@ -20,4 +20,25 @@ void main() {
   test('getPlatformVersion', () async {
     expect(await Cwflutter.platformVersion, '42');
   });
+  test('obtainComponentsByIds', () async {
+    channel.setMockMethodCallHandler((MethodCall methodCall) async {
+      expect(methodCall.method, 'obtainComponentsByIds');
+      expect(methodCall.arguments['ids'], ['a', 'b']);
+      return [
+        {
+          'id': 'a',
+          'component': {'id': 'a', 'genericName': 'Chair', 'isFloating': false},
+          'error': null
+        },
+        {'id': 'b', 'component': null, 'error': 'Not found.'},
+      ];
+    });
+
+    final results = await Cwflutter.obtainComponentsByIds(['a', 'b']);
+    expect(results.length, 2);
+    expect(results[0].isSuccess, true);
+    expect(results[0].component.genericName, 'Chair');
+    expect(results[1].component, null);
+    expect(results[1].error, 'Not found.');
+  });
 }